@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.benchmarks;
+
+import io.github.softwarecat.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Bin.contains(), the test made for every Bet in every cycle, for an Outcome in the Bin and one which is not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BinBenchmark {
+
+    private Bin bin;
+
+    private Outcome hit;
+
+    private Outcome miss;
+
+    @Setup
+    public void setUp() {
+        Wheel wheel = new Wheel();
+        new BinBuilder().buildBins(wheel);
+
+        // Bin 2 is black, so it holds the Black Outcome but not the Red one
+        bin = wheel.getBin(2);
+        hit = wheel.getOutcomes(BetCategory.BLACK).get(0);
+        miss = wheel.getOutcomes(BetCategory.RED).get(0);
+    }
+
+    @Benchmark
+    public boolean containsHit() {
+        return bin.contains(hit);
+    }
+
+    @Benchmark
+    public boolean containsMiss() {
+        return bin.contains(miss);
+    }
+
+    @Benchmark
+    public boolean containsById() {
+        return bin.contains(hit.getId());
+    }
+}
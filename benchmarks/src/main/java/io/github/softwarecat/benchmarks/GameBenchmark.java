@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.benchmarks;
+
+import io.github.softwarecat.*;
+import io.github.softwarecat.player.Player;
+import io.github.softwarecat.player.PlayerFactory;
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.RandomSourceFactory;
+import io.github.softwarecat.random.RandomSourceType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single Game.cycle() for every type of Player. A new session starts whenever the previous one ends, so
+ * the measurement covers whole sessions rather than a Player who has stopped playing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    @Param({"CANCELLATION", "FIBONACCI", "MARTINGALE", "ONE_THREE_TWO_SIX", "PASSENGER57", "RANDOM_CHOICE",
+            "SEVEN_REDS"})
+    public PlayerType playerType;
+
+    @Param({"JDK", "XOSHIRO256_PLUS_PLUS"})
+    public RandomSourceType randomSourceType;
+
+    private Game game;
+
+    private Player player;
+
+    @Setup
+    public void setUp() {
+        Wheel wheel = new Wheel(RandomSourceFactory.getRandomSource(randomSourceType, 42));
+        new BinBuilder().buildBins(wheel);
+        Table table = new Table(wheel);
+
+        player = PlayerFactory.getPlayer(playerType, table, new Random(42));
+        game = new Game(wheel, table);
+    }
+
+    @Benchmark
+    public int cycle() throws InvalidBetException {
+        if (!player.playing()) {
+            player.stake = 100;
+            player.roundsToGo = 250;
+            player.newRound();
+        }
+        game.cycle(player);
+        return player.stake;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.benchmarks;
+
+import io.github.softwarecat.*;
+import io.github.softwarecat.player.PlayerFactory;
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.RandomSourceFactory;
+import io.github.softwarecat.random.RandomSourceType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures whole sessions through Simulator.session(), and whole simulations through Simulator.gather() and
+ * ParallelSimulator.gather(), for a range of session lengths and sample counts.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimulatorBenchmark {
+
+    @Param({"PASSENGER57", "MARTINGALE"})
+    public PlayerType playerType;
+
+    @Param({"50", "250", "1000"})
+    public int sessionDuration;
+
+    @Param({"100", "10000"})
+    public int samples;
+
+    @Param({"JDK", "XOSHIRO256_PLUS_PLUS"})
+    public RandomSourceType randomSourceType;
+
+    private Simulator simulator;
+
+    private ParallelSimulator parallelSimulator;
+
+    private SessionResult result;
+
+    @Setup
+    public void setUp() {
+        Wheel wheel = new Wheel(RandomSourceFactory.getRandomSource(randomSourceType, 42));
+        new BinBuilder().buildBins(wheel);
+        Table table = new Table(wheel);
+
+        simulator = new Simulator(new Game(wheel, table), PlayerFactory.getPlayer(playerType, table, new Random(42)));
+        simulator.sessionDuration = sessionDuration;
+        simulator.samples = samples;
+
+        parallelSimulator = new ParallelSimulator(playerType, 42, randomSourceType);
+        parallelSimulator.sessionDuration = sessionDuration;
+        parallelSimulator.samples = samples;
+
+        result = new SessionResult();
+    }
+
+    @Benchmark
+    public SessionResult session() throws InvalidBetException {
+        return simulator.session(result);
+    }
+
+    @Benchmark
+    public double gather() throws InvalidBetException {
+        simulator.getStatistics().reset();
+        simulator.gather();
+        return simulator.meanMaximum;
+    }
+
+    @Benchmark
+    public double parallelGather() throws InvalidBetException {
+        parallelSimulator.getStatistics().reset();
+        parallelSimulator.gather();
+        return parallelSimulator.meanMaximum;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.benchmarks;
+
+import io.github.softwarecat.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures placing a number of Bets on a Table, each placement validating the table limits, then clearing the
+ * Table as Game does at the end of a cycle; and, separately, validating a Table on which the Bets are already placed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableBenchmark {
+
+    @Param({"1", "4", "64"})
+    public int bets;
+
+    private Table table;
+
+    private Bet[] placed;
+
+    /**
+     * A Table holding all the Bets, placed once.
+     */
+    private Table full;
+
+    @Setup
+    public void setUp() throws InvalidBetException {
+        Wheel wheel = new Wheel();
+        new BinBuilder().buildBins(wheel);
+        table = new Table(wheel);
+
+        // Bets without a parent Player are not paid for from a stake
+        Outcome black = wheel.getOutcomes(BetCategory.BLACK).get(0);
+        placed = new Bet[bets];
+        for (int i = 0; i < bets; i++) {
+            placed[i] = new Bet(Game.TABLE_MINIMUM, black);
+        }
+
+        full = new Table(wheel);
+        for (Bet bet : placed) {
+            full.placeBet(bet);
+        }
+    }
+
+    @Benchmark
+    public int placeBets() throws InvalidBetException {
+        for (Bet bet : placed) {
+            table.placeBet(bet);
+        }
+        int size = table.size();
+        table.clear();
+        return size;
+    }
+
+    @Benchmark
+    public Table validate() throws InvalidBetException {
+        full.validate();
+        return full;
+    }
+}
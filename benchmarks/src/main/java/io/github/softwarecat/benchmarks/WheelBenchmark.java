@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.benchmarks;
+
+import io.github.softwarecat.BinBuilder;
+import io.github.softwarecat.Wheel;
+import io.github.softwarecat.random.RandomSourceFactory;
+import io.github.softwarecat.random.RandomSourceType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of a spin with each type of RandomSource: one at a time through Wheel.next(), and in bulk
+ * through Wheel.fillSpins().
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WheelBenchmark {
+
+    private static final int BATCH = 1024;
+
+    @Param({"JDK", "SPLITTABLE", "SPLIT_MIX64", "XOSHIRO256_PLUS_PLUS"})
+    public RandomSourceType type;
+
+    private Wheel wheel;
+
+    private int[] spins;
+
+    @Setup
+    public void setUp() {
+        wheel = new Wheel(RandomSourceFactory.getRandomSource(type, 42));
+        new BinBuilder().buildBins(wheel);
+        wheel.setSpinSeed(42);
+        spins = new int[BATCH];
+    }
+
+    @Benchmark
+    public Object next() {
+        return wheel.next();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int[] fillSpins() {
+        return wheel.fillSpins(spins);
+    }
+}
@@ -35,6 +35,11 @@ public class App {
     protected static final Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
+        // With arguments, run a batch without asking anything
+        if (args.length > 0) {
+            System.exit(BatchRunner.main(args, System.out, System.err));
+        }
+
         Wheel wheel = new Wheel();
         BinBuilder binBuilder = new BinBuilder();
         binBuilder.buildBins(wheel);
@@ -42,24 +47,43 @@ public class App {
         Table table = new Table(wheel);
 
         System.out.print("Player Type: ");
-        String playerType = scanner.nextLine();
-        Player player = PlayerFactory.getPlayer(PlayerType.valueOf(playerType), table);
+        PlayerType playerType = PlayerType.valueOf(scanner.nextLine());
+        Player player = PlayerFactory.getPlayer(playerType, table);
 
         Game game = new Game(wheel, table);
 
         Simulator simulator = new Simulator(game, player);
 
         System.out.print("Session Duration: ");
-        simulator.sessionDuration = Integer.parseInt(scanner.nextLine());
+        int sessionDuration = Integer.parseInt(scanner.nextLine());
 
         System.out.print("Initial Stake: ");
-        simulator.initialStake = Integer.parseInt(scanner.nextLine());
+        int initialStake = Integer.parseInt(scanner.nextLine());
 
         System.out.print("Samples: ");
-        simulator.samples = Integer.parseInt(scanner.nextLine());
+        int samples = Integer.parseInt(scanner.nextLine());
+
+        // With a target precision, samples is only the largest number of sessions to run
+        System.out.print("Target 95% Half-Width of Mean Maximum (blank for none): ");
+        String target = scanner.nextLine().trim();
+        if (!target.isEmpty()) {
+            simulator = new ParallelSimulator(playerType, System.nanoTime());
+        }
+
+        simulator.sessionDuration = sessionDuration;
+        simulator.initialStake = initialStake;
+        simulator.samples = samples;
 
         try {
-            simulator.gather();
+            if (target.isEmpty()) {
+                simulator.gather();
+            } else {
+                ParallelSimulator parallelSimulator = (ParallelSimulator) simulator;
+                boolean precise = parallelSimulator.gather(SessionMetric.MAXIMUM, Double.parseDouble(target),
+                        StrategyComparison.Z_95, samples);
+                System.out.println((precise ? "Target reached after " : "Target not reached after ")
+                        + parallelSimulator.completedSamples + " samples.");
+            }
         } catch (InvalidBetException e) {
             System.out.println("Player placed invalid bet.");
         }
@@ -68,5 +92,9 @@ public class App {
         System.out.println("Duration STD: " + simulator.stdDuration);
         System.out.println("Mean Maximum: " + simulator.meanMaximum);
         System.out.println("Maximum STD: " + simulator.stdMaximum);
+        System.out.println("Median Duration: " + simulator.medianDuration);
+        System.out.println("99th Percentile Duration: " + simulator.p99Duration);
+        System.out.println("Median Maximum: " + simulator.medianMaximum);
+        System.out.println("99th Percentile Maximum: " + simulator.p99Maximum);
     }
 }
@@ -0,0 +1,333 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.RandomSourceType;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BatchRunner executes many simulation runs in a single JVM, without asking anything on the console, and writes
+ * their results as CSV. It is the batch mode of App, used whenever App is given arguments:
+ * <pre>
+ * App [--batch FILE]... [--run DEFINITION]... [--output FILE] [--parallel RUNS] [--cache DIRECTORY]
+ * </pre>
+ * A run definition is a line of key=value pairs separated by spaces, for example
+ * {@code playerType=MARTINGALE initialStake=100 sessionDuration=250 samples=100000 seed=42}. The keys are playerType,
+ * randomSource, seed, initialStake, sessionDuration and samples; all but playerType have the defaults of Simulator
+ * and ParallelSimulator. A batch file holds one definition per line; blank lines and lines starting with # are
+ * skipped, and "-" reads the definitions from standard input.
+ * <p>
+ * Every run is a ParallelSimulator. With --parallel, several runs execute at once and share the processors; the
+ * results are written in the order of the definitions either way, one line per run as soon as it and the runs
+ * before it are done.
+ */
+public class BatchRunner {
+
+    /**
+     * The header of the results.
+     */
+    public static final String HEADER = "run,playerType,randomSource,seed,initialStake,sessionDuration,samples,status,"
+            + "meanDuration,stdDuration,medianDuration,p99Duration,meanMaximum,stdMaximum,medianMaximum,p99Maximum,"
+            + "meanFinalStake,seconds";
+
+    /**
+     * The definitions of the runs, in order.
+     */
+    public final List<Run> RUNS = new ArrayList<>();
+
+    /**
+     * The number of runs executed at once.
+     */
+    public int parallelRuns = 1;
+
+    /**
+     * The result cache shared by every run, or null to always run the sessions.
+     */
+    public ResultCache resultCache;
+
+    /**
+     * The number of runs which failed so far.
+     */
+    protected final AtomicInteger failures = new AtomicInteger();
+
+    /**
+     * Parses the arguments of App in batch mode and executes the runs they define.
+     *
+     * @param args the arguments
+     * @param out  the stream receiving the results when no output file is given
+     * @param err  the stream receiving usage and error messages
+     * @return the exit status: 0 on success, 1 if a run failed, 2 if the arguments are invalid
+     */
+    public static int main(String[] args, PrintStream out, PrintStream err) {
+        BatchRunner runner = new BatchRunner();
+        Path output = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value of " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--batch":
+                        runner.addRuns(value.equals("-")
+                                ? new String(System.in.readAllBytes(), StandardCharsets.UTF_8).split("\\R")
+                                : Files.readAllLines(Paths.get(value)).toArray(new String[0]));
+                        break;
+                    case "--run":
+                        runner.RUNS.add(Run.parse(value, runner.RUNS.size()));
+                        break;
+                    case "--output":
+                        output = Paths.get(value);
+                        break;
+                    case "--parallel":
+                        runner.parallelRuns = Integer.parseInt(value);
+                        if (runner.parallelRuns < 1) {
+                            throw new IllegalArgumentException("--parallel must be positive");
+                        }
+                        break;
+                    case "--cache":
+                        runner.resultCache = new ResultCache(Paths.get(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            if (runner.RUNS.isEmpty()) {
+                throw new IllegalArgumentException("No runs defined");
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("Usage: App [--batch FILE]... [--run DEFINITION]... [--output FILE] [--parallel RUNS] "
+                    + "[--cache DIRECTORY]");
+            return 2;
+        } catch (IOException e) {
+            err.println("Cannot read runs: " + e.getMessage());
+            return 2;
+        }
+
+        try {
+            if (output == null) {
+                return runner.execute(out) ? 0 : 1;
+            }
+            try (PrintStream file = new PrintStream(Files.newOutputStream(output), false, "UTF-8")) {
+                return runner.execute(file) ? 0 : 1;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            err.println("Cannot write results: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Adds the runs defined by the lines of a batch file, skipping blank lines and comments.
+     *
+     * @param lines the lines of the batch file
+     * @throws IllegalArgumentException if a line is not a valid definition
+     */
+    public void addRuns(String... lines) {
+        for (String line : lines) {
+            String definition = line.trim();
+            if (!definition.isEmpty() && !definition.startsWith("#")) {
+                RUNS.add(Run.parse(definition, RUNS.size()));
+            }
+        }
+    }
+
+    /**
+     * Executes every run and writes its results, in the order of the runs.
+     *
+     * @param out where to write the results
+     * @return true if every run succeeded
+     */
+    public boolean execute(Appendable out) {
+        // Runs executing at once share the processors
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / parallelRuns);
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelRuns);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (Run run : RUNS) {
+                results.add(executor.submit(() -> execute(run, threads)));
+            }
+
+            int failed = failures.get();
+            out.append(HEADER).append('\n');
+            for (Future<String> result : results) {
+                out.append(ParallelSimulator.await(result)).append('\n');
+                if (out instanceof PrintStream) {
+                    ((PrintStream) out).flush();
+                }
+            }
+            return failures.get() == failed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InvalidBetException e) {
+            // Runs catch their own failures and report them in their result line
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Executes a single run.
+     *
+     * @param run     the definition of the run
+     * @param threads the number of threads of the run
+     * @return the result line of the run
+     */
+    protected String execute(Run run, int threads) {
+        ParallelSimulator simulator = new ParallelSimulator(run.playerType, run.seed, run.randomSourceType);
+        simulator.initialStake = run.initialStake;
+        simulator.sessionDuration = run.sessionDuration;
+        simulator.samples = run.samples;
+        simulator.threads = threads;
+        simulator.setResultCache(resultCache);
+
+        long start = System.nanoTime();
+        String status = "ok";
+        try {
+            simulator.gather();
+        } catch (InvalidBetException | RuntimeException e) {
+            status = "failed: " + e;
+            failures.incrementAndGet();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        SessionStatistics statistics = simulator.getStatistics();
+        return String.format(Locale.ROOT, "%d,%s,%s,%d,%d,%d,%d,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s,%s",
+                run.INDEX, run.playerType, run.randomSourceType, run.seed, run.initialStake, run.sessionDuration,
+                statistics.getCount(), status.replace(',', ';'),
+                statistics.DURATIONS.getMean(), statistics.DURATIONS.getStd(),
+                statistics.DURATION_QUANTILES.getMedian(), statistics.DURATION_QUANTILES.getQuantile(0.99),
+                statistics.MAXIMA.getMean(), statistics.MAXIMA.getStd(),
+                statistics.MAXIMUM_QUANTILES.getMedian(), statistics.MAXIMUM_QUANTILES.getQuantile(0.99),
+                statistics.FINAL_STAKES.getMean(), seconds);
+    }
+
+    /**
+     * The definition of a single run.
+     */
+    public static class Run {
+
+        /**
+         * The position of the run in the batch, from zero.
+         */
+        public final int INDEX;
+
+        public PlayerType playerType;
+
+        public RandomSourceType randomSourceType = RandomSourceType.JDK;
+
+        public long seed = 0;
+
+        public int initialStake = Game.TABLE_MINIMUM * 100;
+
+        public int sessionDuration = 250;
+
+        public int samples = 50;
+
+        /**
+         * @param index the position of the run in the batch
+         */
+        public Run(int index) {
+            this.INDEX = index;
+        }
+
+        /**
+         * Parses a definition of key=value pairs separated by spaces.
+         *
+         * @param definition the definition
+         * @param index      the position of the run in the batch
+         * @return the run
+         * @throws IllegalArgumentException if the definition is not valid
+         */
+        public static Run parse(String definition, int index) {
+            Run run = new Run(index);
+            for (String pair : definition.trim().split("\\s+")) {
+                int equals = pair.indexOf('=');
+                if (equals < 0) {
+                    throw new IllegalArgumentException("Run " + index + ": expected key=value, not " + pair);
+                }
+                String key = pair.substring(0, equals);
+                String value = pair.substring(equals + 1);
+                try {
+                    switch (key) {
+                        case "playerType":
+                            run.playerType = valueOf(PlayerType.class, key, value, index);
+                            break;
+                        case "randomSource":
+                            run.randomSourceType = valueOf(RandomSourceType.class, key, value, index);
+                            break;
+                        case "seed":
+                            run.seed = Long.parseLong(value);
+                            break;
+                        case "initialStake":
+                            run.initialStake = Integer.parseInt(value);
+                            break;
+                        case "sessionDuration":
+                            run.sessionDuration = Integer.parseInt(value);
+                            break;
+                        case "samples":
+                            run.samples = Integer.parseInt(value);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Run " + index + ": unknown key " + key);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Run " + index + ": invalid " + key + " " + value);
+                }
+            }
+            if (run.playerType == null) {
+                throw new IllegalArgumentException("Run " + index + ": playerType is required");
+            }
+            return run;
+        }
+
+        private static <E extends Enum<E>> E valueOf(Class<E> type, String key, String value, int index) {
+            try {
+                return Enum.valueOf(type, value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Run " + index + ": invalid " + key + " " + value);
+            }
+        }
+    }
+}
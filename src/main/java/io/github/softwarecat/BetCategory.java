@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+/**
+ * BetCategory is the kind of proposition an Outcome represents. Together with the bins it covers, the category
+ * identifies an Outcome on the wheel without relying on its name.
+ */
+public enum BetCategory {
+    /**
+     * A single number, including 0 and 00.
+     */
+    STRAIGHT(Game.STRAIGHT_BET_PAYOUT),
+    /**
+     * Two adjacent numbers.
+     */
+    SPLIT(Game.SPLIT_BET_PAYOUT),
+    /**
+     * The three numbers of a row.
+     */
+    STREET(Game.STREET_BET_PAYOUT),
+    /**
+     * Four numbers sharing a corner.
+     */
+    CORNER(Game.CORNER_BET_PAYOUT),
+    /**
+     * 00, 0, 1, 2 and 3.
+     */
+    FIVE(Game.FIVE_BET_PAYOUT),
+    /**
+     * The six numbers of two adjacent rows.
+     */
+    LINE(Game.LINE_BET_PAYOUT),
+    /**
+     * Twelve consecutive numbers.
+     */
+    DOZEN(Game.DOZEN_BET_PAYOUT),
+    /**
+     * The twelve numbers of a column.
+     */
+    COLUMN(Game.COLUMN_BET_PAYOUT),
+    /**
+     * The red numbers.
+     */
+    RED(Game.EVEN_MONEY_BET_PAYOUT),
+    /**
+     * The black numbers.
+     */
+    BLACK(Game.EVEN_MONEY_BET_PAYOUT),
+    /**
+     * The even numbers, not including 0 and 00.
+     */
+    EVEN(Game.EVEN_MONEY_BET_PAYOUT),
+    /**
+     * The odd numbers.
+     */
+    ODD(Game.EVEN_MONEY_BET_PAYOUT),
+    /**
+     * The numbers from 19 to 36.
+     */
+    HIGH(Game.EVEN_MONEY_BET_PAYOUT),
+    /**
+     * The numbers from 1 to 18.
+     */
+    LOW(Game.EVEN_MONEY_BET_PAYOUT);
+
+    /**
+     * The payout odds of Outcomes in this category.
+     */
+    public final int ODDS;
+
+    BetCategory(int odds) {
+        this.ODDS = odds;
+    }
+
+    /**
+     * @return true if Outcomes in this category pay 1:1
+     */
+    public boolean isEvenMoney() {
+        return ODDS == Game.EVEN_MONEY_BET_PAYOUT;
+    }
+}
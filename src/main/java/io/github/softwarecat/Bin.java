@@ -24,9 +24,7 @@
 
 package io.github.softwarecat;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.*;
 
 /**
  * Bin contains a collection of Outcomes which reflect the winning bets that are paid for a particular bin on a Roulette
@@ -34,49 +32,230 @@ import java.util.HashSet;
  * with the following winning Outcomes: “1” , “Red” , “Odd” , “Low” , “Column 1” , “Dozen 1-12” , “Split 1-2” ,
  * “Split 1-4” , “Street 1-2-3” , “Corner 1-2-4-5” , “Five Bet” , “Line 1-2-3-4-5-6” , “00-0-1-2-3” , “Dozen 1” , “Low”
  * and “Column 1” . These are collected into a single Bin .
+ * <p>
+ * Besides the Set of Outcomes, a Bin keeps a bitset indexed by the dense Outcome ids the Wheel assigns, so that
+ * checking whether a Bet won is a shift and a mask instead of a hash lookup. The American layout has about 150
+ * Outcomes, which fit in three longs. Ids are only unique per Wheel, so the bitset holds the Outcomes of a single
+ * id space, that of the first Outcome with an id added; Outcomes from other Wheels are kept in the Set alone.
  */
-public class Bin extends HashSet<Outcome> {
+public class Bin extends AbstractSet<Outcome> implements Cloneable {
+
+    /**
+     * The number of longs in the bitset of a new Bin.
+     */
+    protected static final int WORDS = 3;
+
+    /**
+     * The Outcomes in this Bin.
+     */
+    protected HashSet<Outcome> outcomes;
+
+    /**
+     * Bit i is set when the Outcome with id i is in this Bin.
+     */
+    protected long[] bits = new long[WORDS];
+
+    /**
+     * The number of Outcomes in this Bin which have no id, and so can only be found in the Set.
+     */
+    protected int unindexed = 0;
+
+    /**
+     * The id space of the Outcomes in the bitset, or null until an Outcome with an id is added.
+     */
+    protected Map<String, Outcome> idSpace;
 
     /**
      * Instantiates an empty Bin. Outcomes can be added to it later.
      */
     public Bin() {
-        super();
+        outcomes = new HashSet<>();
     }
 
     /**
-     * Creates an Bin using the super() statement, invoking the TreeSet constructor.
-     * It then loads that collection using elements of the given array.
+     * Creates a Bin and loads it using elements of the given array.
      *
      * @param outcomes a primitive array of outcomes
      */
     public Bin(Outcome[] outcomes) {
-        super(Arrays.asList(outcomes));
+        this(Arrays.asList(outcomes));
     }
 
     /**
-     * Creates a Bin using the super() statement to invoke the TreeSet constructor.
-     * It then loads that collection using the collection parameter.
+     * Creates a Bin and loads it using the collection parameter.
      * This relies on the fact that all classes that implement Collection will provide the iterator(); the
      * constructor can convert the elements of the input collection to a proper Set.
      *
      * @param outcomes a collection of outcomes
      */
     public Bin(Collection<? extends Outcome> outcomes) {
-        super(outcomes);
+        this();
+        addAll(outcomes);
     }
 
     /**
      * Adds an Outcome to this Bin. This can be used by a builder to construct all of the bets in this Bin.
-     * Since this class is really just a facade over the underlying collection object, this method can simply
-     * delegate the real work to the underlying collection.
      *
      * @param outcome an outcome to add to this Bin
      * @return true if this set did not already contain the specified element
      */
     @Override
     public boolean add(Outcome outcome) {
-        return super.add(outcome);
+        if (!outcomes.add(outcome)) {
+            return false;
+        }
+
+        index(outcome);
+        return true;
+    }
+
+    /**
+     * Checks whether the Outcome with the given id is in this Bin.
+     *
+     * @param id the id of an Outcome, given by the Wheel of this Bin
+     * @return true if the Outcome is in this Bin
+     */
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * Checks whether the given Outcome is in this Bin, using the bitset when the Outcome has an id from the same
+     * Wheel as the Outcomes of the bitset.
+     *
+     * @param o the Outcome to look for
+     * @return true if the Outcome is in this Bin
+     */
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof Outcome) {
+            Outcome outcome = (Outcome) o;
+            int id = outcome.id;
+            if (id >= 0 && outcome.idSpace == idSpace) {
+                if (contains(id)) {
+                    return true;
+                }
+                if (unindexed == 0) {
+                    return false;
+                }
+            }
+        }
+        return outcomes.contains(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!outcomes.remove(o)) {
+            return false;
+        }
+
+        // The removed Outcome may be a different instance than o, so recompute the bits from what is left
+        Arrays.fill(bits, 0);
+        unindexed = 0;
+        idSpace = null;
+        for (Outcome outcome : outcomes) {
+            index(outcome);
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        outcomes.clear();
+        Arrays.fill(bits, 0);
+        unindexed = 0;
+        idSpace = null;
+    }
+
+    @Override
+    public Iterator<Outcome> iterator() {
+        Iterator<Outcome> iterator = outcomes.iterator();
+        return new Iterator<>() {
+            private Outcome last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Outcome next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                forget(last);
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return outcomes.size();
+    }
+
+    /**
+     * Sets the bit of an Outcome which was added to the Set.
+     *
+     * @param outcome the added Outcome
+     */
+    protected void index(Outcome outcome) {
+        if (idSpace == null && outcome.id >= 0) {
+            idSpace = outcome.idSpace;
+        }
+        if (isIndexed(outcome)) {
+            if (outcome.id >= bits.length * Long.SIZE) {
+                bits = Arrays.copyOf(bits, outcome.id / Long.SIZE + 1);
+            }
+            bits[outcome.id >>> 6] |= 1L << outcome.id;
+        } else {
+            unindexed++;
+        }
+    }
+
+    /**
+     * Clears the bit of an Outcome which was removed from the Set.
+     *
+     * @param outcome the removed Outcome
+     */
+    protected void forget(Outcome outcome) {
+        if (isIndexed(outcome)) {
+            if (contains(outcome.id)) {
+                bits[outcome.id >>> 6] &= ~(1L << outcome.id);
+            }
+        } else {
+            unindexed--;
+        }
+    }
+
+    /**
+     * Tells whether an Outcome of this Bin is in the bitset, rather than in the Set alone.
+     *
+     * @param outcome an Outcome of this Bin
+     * @return true if the Outcome has an id from the id space of the bitset
+     */
+    protected boolean isIndexed(Outcome outcome) {
+        return outcome.id >= 0 && outcome.idSpace == idSpace;
+    }
+
+    /**
+     * @return a copy of this Bin, with its own Set and bitset
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        try {
+            Bin clone = (Bin) super.clone();
+            clone.outcomes = (HashSet<Outcome>) outcomes.clone();
+            clone.bits = bits.clone();
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
     }
 
     /**
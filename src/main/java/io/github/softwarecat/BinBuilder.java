@@ -27,7 +27,8 @@ package io.github.softwarecat;
 import java.util.Set;
 
 /**
- * BinBuilder creates the Outcomes for all of the 38 individual Bin on a Roulette wheel.
+ * BinBuilder creates the Outcomes for all of the 38 individual Bin on a Roulette wheel, and the index used to look
+ * them up by category and covered bins.
  */
 public class BinBuilder {
 
@@ -46,7 +47,8 @@ public class BinBuilder {
      */
     public void buildBins(Wheel wheel) {
         // Five Bets
-        Outcome five = new Outcome(Game.BET_NAMES.getString("five"), Game.FIVE_BET_PAYOUT);
+        Outcome five = new Outcome(Game.BET_NAMES.getString("five"), Game.FIVE_BET_PAYOUT,
+                BetCategory.FIVE);
         wheel.addOutcome(0, five);
         wheel.addOutcome(1, five);
         wheel.addOutcome(2, five);
@@ -55,11 +57,11 @@ public class BinBuilder {
 
         // Straight Bets
         for (int i = 1; i < 37; i++) {
-            wheel.addOutcome(i, new Outcome(String.valueOf(i), Game.STRAIGHT_BET_PAYOUT));
+            wheel.addOutcome(i, new Outcome(String.valueOf(i), Game.STRAIGHT_BET_PAYOUT, BetCategory.STRAIGHT));
         }
 
-        wheel.addOutcome(0, new Outcome("0", Game.STRAIGHT_BET_PAYOUT));
-        wheel.addOutcome(37, new Outcome("00", Game.STRAIGHT_BET_PAYOUT));
+        wheel.addOutcome(0, new Outcome("0", Game.STRAIGHT_BET_PAYOUT, BetCategory.STRAIGHT));
+        wheel.addOutcome(37, new Outcome("00", Game.STRAIGHT_BET_PAYOUT, BetCategory.STRAIGHT));
 
         // Split Bets
 
@@ -69,7 +71,7 @@ public class BinBuilder {
             int n = 3 * r + 1;
             Outcome split = new Outcome(
                     Game.BET_NAMES.getString("split") + String.format(" %d-%d", n, n + 1),
-                    Game.SPLIT_BET_PAYOUT);
+                    Game.SPLIT_BET_PAYOUT, BetCategory.SPLIT);
             wheel.addOutcome(n, split);
             wheel.addOutcome(n + 1, split);
 
@@ -77,7 +79,7 @@ public class BinBuilder {
             n = 3 * r + 2;
             split = new Outcome(
                     Game.BET_NAMES.getString("split") + String.format(" %d-%d", n, n + 1),
-                    Game.SPLIT_BET_PAYOUT);
+                    Game.SPLIT_BET_PAYOUT, BetCategory.SPLIT);
             wheel.addOutcome(n, split);
             wheel.addOutcome(n + 1, split);
         }
@@ -86,7 +88,7 @@ public class BinBuilder {
         for (int n = 1; n < 34; n++) {
             Outcome split = new Outcome(
                     Game.BET_NAMES.getString("split") + String.format(" %d-%d", n, n + 3),
-                    Game.SPLIT_BET_PAYOUT);
+                    Game.SPLIT_BET_PAYOUT, BetCategory.SPLIT);
             wheel.addOutcome(n, split);
             wheel.addOutcome(n + 3, split);
         }
@@ -96,7 +98,7 @@ public class BinBuilder {
             int n = 3 * r + 1;
             Outcome street = new Outcome(
                     Game.BET_NAMES.getString("street") + String.format(" %d-%d-%d", n, n + 1, n + 2),
-                    Game.STREET_BET_PAYOUT);
+                    Game.STREET_BET_PAYOUT, BetCategory.STREET);
             wheel.addOutcome(n, street);
             wheel.addOutcome(n + 1, street);
             wheel.addOutcome(n + 2, street);
@@ -108,7 +110,7 @@ public class BinBuilder {
             int n = 3 * r + 1;
             Outcome corner = new Outcome(
                     Game.BET_NAMES.getString("corner") + String.format(" %d-%d-%d-%d", n, n + 1, n + 3, n + 4),
-                    Game.CORNER_BET_PAYOUT);
+                    Game.CORNER_BET_PAYOUT, BetCategory.CORNER);
             wheel.addOutcome(n, corner);
             wheel.addOutcome(n + 1, corner);
             wheel.addOutcome(n + 3, corner);
@@ -118,7 +120,7 @@ public class BinBuilder {
             n = 3 * r + 2;
             corner = new Outcome(
                     Game.BET_NAMES.getString("corner") + String.format(" %d-%d-%d-%d", n, n + 1, n + 3, n + 4),
-                    Game.CORNER_BET_PAYOUT);
+                    Game.CORNER_BET_PAYOUT, BetCategory.CORNER);
             wheel.addOutcome(n, corner);
             wheel.addOutcome(n + 1, corner);
             wheel.addOutcome(n + 3, corner);
@@ -130,7 +132,7 @@ public class BinBuilder {
             int n = 3 * r + 1;
             Outcome line = new Outcome(
                     Game.BET_NAMES.getString("line") + String.format(" %d-%d-%d-%d-%d-%d", n, n + 1, n + 2, n + 3, n + 4, n + 5),
-                    Game.LINE_BET_PAYOUT);
+                    Game.LINE_BET_PAYOUT, BetCategory.LINE);
             wheel.addOutcome(n, line);
             wheel.addOutcome(n + 1, line);
             wheel.addOutcome(n + 2, line);
@@ -143,7 +145,7 @@ public class BinBuilder {
         for (int d = 0; d < 3; d++) {
             Outcome dozen = new Outcome(
                     Game.BET_NAMES.getString("dozen") + String.format(" %d-%d", d + 1, d + 12),
-                    Game.DOZEN_BET_PAYOUT);
+                    Game.DOZEN_BET_PAYOUT, BetCategory.DOZEN);
             for (int m = 0; m < 12; m++) {
                 wheel.addOutcome(12 * d + m + 1, dozen);
             }
@@ -153,7 +155,7 @@ public class BinBuilder {
         for (int c = 0; c < 3; c++) {
             Outcome column = new Outcome(
                     Game.BET_NAMES.getString("column") + String.format(" %d", c + 1),
-                    Game.COLUMN_BET_PAYOUT);
+                    Game.COLUMN_BET_PAYOUT, BetCategory.COLUMN);
             for (int r = 0; r < 12; r++) {
                 wheel.addOutcome(3 * r + c + 1, column);
             }
@@ -161,12 +163,18 @@ public class BinBuilder {
 
         // Even-Money Bets
         for (int n = 1; n < 37; n++) {
-            Outcome red = new Outcome(Game.BET_NAMES.getString("red"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome black = new Outcome(Game.BET_NAMES.getString("black"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome even = new Outcome(Game.BET_NAMES.getString("even"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome odd = new Outcome(Game.BET_NAMES.getString("odd"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome high = new Outcome(Game.BET_NAMES.getString("high"), Game.EVEN_MONEY_BET_PAYOUT);
-            Outcome low = new Outcome(Game.BET_NAMES.getString("low"), Game.EVEN_MONEY_BET_PAYOUT);
+            Outcome red = new Outcome(Game.BET_NAMES.getString("red"), Game.EVEN_MONEY_BET_PAYOUT,
+                    BetCategory.RED);
+            Outcome black = new Outcome(Game.BET_NAMES.getString("black"), Game.EVEN_MONEY_BET_PAYOUT,
+                    BetCategory.BLACK);
+            Outcome even = new Outcome(Game.BET_NAMES.getString("even"), Game.EVEN_MONEY_BET_PAYOUT,
+                    BetCategory.EVEN);
+            Outcome odd = new Outcome(Game.BET_NAMES.getString("odd"), Game.EVEN_MONEY_BET_PAYOUT,
+                    BetCategory.ODD);
+            Outcome high = new Outcome(Game.BET_NAMES.getString("high"), Game.EVEN_MONEY_BET_PAYOUT,
+                    BetCategory.HIGH);
+            Outcome low = new Outcome(Game.BET_NAMES.getString("low"), Game.EVEN_MONEY_BET_PAYOUT,
+                    BetCategory.LOW);
 
             // High Low
             if (n < 19) {
@@ -189,5 +197,8 @@ public class BinBuilder {
                 wheel.addOutcome(n, black);
             }
         }
+
+        // Index the Outcomes once they are all in place
+        wheel.setOutcomeIndex(new OutcomeIndex(wheel));
     }
 }
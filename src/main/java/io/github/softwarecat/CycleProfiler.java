@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.util.Arrays;
+
+/**
+ * CycleProfiler records how long each phase of Game.cycle() takes, so that a slow simulation can be traced to the
+ * strategy placing its bets, to the spin, to the settlement of the bets on the Table or to the callbacks of the
+ * Player. Set it on a Game with setProfiler(); a Game without a profiler takes no timings.
+ * <p>
+ * The latency of every phase is kept in a histogram of power-of-two buckets of nanoseconds, which records a value
+ * with a couple of instructions and no allocation. Percentiles are reported as the upper bound of their bucket, so
+ * they are accurate to within a factor of two. A profiler is not thread-safe; give each Game its own and merge them.
+ */
+public class CycleProfiler {
+
+    /**
+     * The phases of a cycle.
+     */
+    public enum Phase {
+        /**
+         * The Players decide on their bets and place them on the Table, which validates them.
+         */
+        PLACE_BETS,
+        /**
+         * The Wheel selects the winning Bin.
+         */
+        SPIN,
+        /**
+         * Every Bet is checked against the winning Bin and taken off the Table.
+         */
+        SETTLEMENT,
+        /**
+         * The Players are told which of their Bets won and lost.
+         */
+        CALLBACKS,
+        /**
+         * The Players are told the winning Outcomes and their rounds are counted.
+         */
+        NOTIFY_WINNERS
+    }
+
+    /**
+     * The number of buckets of a histogram: one for zero and one for every bit length of a positive long.
+     */
+    private static final int BUCKETS = 64;
+
+    /**
+     * The number of latencies in every bucket, for every phase.
+     */
+    protected final long[][] histograms = new long[Phase.values().length][BUCKETS];
+
+    /**
+     * The total latency of every phase.
+     */
+    protected final long[] totalNanos = new long[Phase.values().length];
+
+    /**
+     * The number of cycles recorded.
+     */
+    protected long cycles = 0;
+
+    /**
+     * The time the first and the last recorded cycles started and ended.
+     */
+    protected long firstStart = Long.MAX_VALUE, lastEnd = Long.MIN_VALUE;
+
+    /**
+     * Records the timings of a cycle, each taken from System.nanoTime() as the phase ended.
+     *
+     * @param start   the start of the cycle
+     * @param placed  the end of PLACE_BETS
+     * @param spun    the end of SPIN
+     * @param settled the end of SETTLEMENT
+     * @param paid    the end of CALLBACKS
+     * @param end     the end of NOTIFY_WINNERS, and of the cycle
+     */
+    public void record(long start, long placed, long spun, long settled, long paid, long end) {
+        record(Phase.PLACE_BETS, placed - start);
+        record(Phase.SPIN, spun - placed);
+        record(Phase.SETTLEMENT, settled - spun);
+        record(Phase.CALLBACKS, paid - settled);
+        record(Phase.NOTIFY_WINNERS, end - paid);
+
+        cycles++;
+        firstStart = Math.min(firstStart, start);
+        lastEnd = Math.max(lastEnd, end);
+    }
+
+    /**
+     * Records the latency of a single phase.
+     *
+     * @param phase the phase
+     * @param nanos the latency, in nanoseconds
+     */
+    public void record(Phase phase, long nanos) {
+        nanos = Math.max(0, nanos);
+        histograms[phase.ordinal()][bucket(nanos)]++;
+        totalNanos[phase.ordinal()] += nanos;
+    }
+
+    private static int bucket(long nanos) {
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Merges the timings recorded by another profiler into this one.
+     *
+     * @param other the profiler to merge into this one
+     */
+    public void merge(CycleProfiler other) {
+        for (int phase = 0; phase < histograms.length; phase++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                histograms[phase][bucket] += other.histograms[phase][bucket];
+            }
+            totalNanos[phase] += other.totalNanos[phase];
+        }
+        cycles += other.cycles;
+        firstStart = Math.min(firstStart, other.firstStart);
+        lastEnd = Math.max(lastEnd, other.lastEnd);
+    }
+
+    /**
+     * Forgets all the timings recorded so far.
+     */
+    public void reset() {
+        for (long[] histogram : histograms) {
+            Arrays.fill(histogram, 0);
+        }
+        Arrays.fill(totalNanos, 0);
+        cycles = 0;
+        firstStart = Long.MAX_VALUE;
+        lastEnd = Long.MIN_VALUE;
+    }
+
+    /**
+     * @return the number of cycles recorded
+     */
+    public long getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @param phase a phase
+     * @return the number of latencies recorded for the phase
+     */
+    public long getCount(Phase phase) {
+        long count = 0;
+        for (long bucket : histograms[phase.ordinal()]) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    /**
+     * @param phase a phase
+     * @return the total latency of the phase, in nanoseconds
+     */
+    public long getTotalNanos(Phase phase) {
+        return totalNanos[phase.ordinal()];
+    }
+
+    /**
+     * @param phase a phase
+     * @return the mean latency of the phase, in nanoseconds
+     */
+    public double getMeanNanos(Phase phase) {
+        return (double) totalNanos[phase.ordinal()] / getCount(phase);
+    }
+
+    /**
+     * Estimates a percentile of the latency of a phase, as the upper bound of the bucket in which it lies.
+     *
+     * @param phase    a phase
+     * @param quantile the quantile, between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return the percentile, in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(Phase phase, double quantile) {
+        long[] histogram = histograms[phase.ordinal()];
+        long count = getCount(phase);
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= rank && seen > 0) {
+                return bucket == 0 ? 0 : (1L << bucket) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of spins per second, from the start of the first cycle recorded to the end of the last
+     */
+    public double getSpinsPerSecond() {
+        return cycles == 0 ? 0 : cycles / ((lastEnd - firstStart) / 1e9);
+    }
+
+    /**
+     * Easy-to-read summary of the timings: the share of time, mean and percentiles of every phase.
+     *
+     * @return a line for every phase, and one for the throughput
+     */
+    @Override
+    public String toString() {
+        long total = 0;
+        for (long nanos : totalNanos) {
+            total += nanos;
+        }
+
+        StringBuilder report = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            report.append(String.format(Game.LOCALE, "%-14s %5.1f%%  mean %8.1f ns  p50 %8d ns  p99 %8d ns%n",
+                    phase, 100.0 * getTotalNanos(phase) / total, getMeanNanos(phase),
+                    getPercentileNanos(phase, 0.5), getPercentileNanos(phase, 0.99)));
+        }
+        report.append(String.format(Game.LOCALE, "%d cycles, %.0f spins/s%n", cycles, getSpinsPerSecond()));
+        return report.toString();
+    }
+}
@@ -24,9 +24,13 @@
 
 package io.github.softwarecat;
 
+import io.github.softwarecat.event.SpinEvent;
 import io.github.softwarecat.player.Player;
+import jdk.jfr.EventType;
 
-import java.util.*;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
 
 /**
  * Game manages the sequence of actions that defines the game of Roulette. This includes notifying the Player to place
@@ -64,6 +68,49 @@ public class Game {
      */
     private final Table table;
 
+    /**
+     * The Bets being settled in the current cycle. This array is reused from cycle to cycle and only grows.
+     */
+    private Bet[] settledBets = new Bet[4];
+
+    /**
+     * Whether each of the Bets being settled won. This array is reused from cycle to cycle and only grows.
+     */
+    private boolean[] settledWins = new boolean[4];
+
+    /**
+     * Whether each of the Players at the Table is playing in the current cycle. This array is reused from cycle to
+     * cycle and only grows.
+     */
+    private boolean[] playing = new boolean[4];
+
+    /**
+     * The profiler recording the phases of every cycle, or null if cycles are not profiled.
+     */
+    private CycleProfiler profiler;
+
+    /**
+     * The type of the SpinEvent, which tells whether any recording is collecting SpinEvents.
+     */
+    private static final EventType SPIN_EVENT_TYPE = EventType.getEventType(SpinEvent.class);
+
+    /**
+     * The number of cycles between two recorded SpinEvents, or zero to record none.
+     */
+    private int spinEventInterval = 0;
+
+    /**
+     * The number of cycles played since the last recorded SpinEvent.
+     */
+    private int cyclesSinceSpinEvent = 0;
+
+    /**
+     * The winning Bin of the last cycle, and the number of Bets it settled.
+     */
+    private Bin resolvedBin;
+
+    private int resolvedCount;
+
     /**
      * Constructs a new Game, using a given Wheel and Table.
      *
@@ -75,49 +122,404 @@ public class Game {
         this.table = table;
     }
 
+    /**
+     * @return the Wheel of this Game
+     */
+    public Wheel getWheel() {
+        return wheel;
+    }
+
+    /**
+     * Starts or stops instrumenting cycles. While a profiler is set, every cycle records how long each of its phases
+     * took; without one, cycles take no timings at all.
+     *
+     * @param profiler the profiler recording the phases of every cycle, or null to stop profiling
+     */
+    public void setProfiler(CycleProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * @return the profiler recording the phases of every cycle, or null if cycles are not profiled
+     */
+    public CycleProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Samples cycles as Java Flight Recorder events: one cycle in every interval is recorded as a SpinEvent, when a
+     * recording with that event enabled is running. An event is created only for a sampled cycle while such a
+     * recording runs, so with no recording even an interval of one keeps cycles free of allocation.
+     *
+     * @param interval the number of cycles between two SpinEvents, or zero to record none
+     */
+    public void setSpinEventInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("interval must not be negative");
+        }
+        this.spinEventInterval = interval;
+        this.cyclesSinceSpinEvent = 0;
+    }
+
     /**
      * This will execute a single cycle of play with a given Player.
+     * <p>
+     * Bets are settled in place: once the arrays used for settlement are large enough, a cycle does not allocate.
      *
      * @param player the individual player that places bets, receives winnings and pays losses
      * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
      */
     public void cycle(Player player) throws InvalidBetException {
+        play(player, null);
+    }
+
+    /**
+     * This will execute a single cycle of play with a given Player, using a winning Bin chosen by the caller instead of
+     * spinning the Wheel. This lets several players, or several runs, share the same sequence of spins.
+     *
+     * @param player     the individual player that places bets, receives winnings and pays losses
+     * @param winningBin the Bin which wins this cycle
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    public void cycle(Player player, Bin winningBin) throws InvalidBetException {
+        play(player, winningBin);
+    }
+
+    /**
+     * This will execute a single cycle of play with many Players at this Table. Every Player who is playing places
+     * their bets, the Wheel is spun once, and every Bet is settled with the Player who placed it. A table of many
+     * Players therefore costs a single spin per cycle. The table limit applies to the Bets of all Players together.
+     *
+     * @param players the players at the Table
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    public void cycle(List<? extends Player> players) throws InvalidBetException {
+        play(players, null);
+    }
+
+    /**
+     * This will execute a single cycle of play with many Players at this Table, like cycle(List), using a winning Bin
+     * chosen by the caller instead of spinning the Wheel.
+     *
+     * @param players    the players at the Table
+     * @param winningBin the Bin which wins this cycle
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    public void cycle(List<? extends Player> players, Bin winningBin) throws InvalidBetException {
+        play(players, winningBin);
+    }
+
+    /**
+     * Plays a cycle with a single Player.
+     *
+     * @param player     the individual player that places bets, receives winnings and pays losses
+     * @param winningBin the Bin which wins this cycle, or null to spin the Wheel
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    private void play(Player player, Bin winningBin) throws InvalidBetException {
         // Skip turn if player is not playing
         if (!player.playing()) {
             return;
         }
 
+        if (sampleSpin()) {
+            SpinEvent event = new SpinEvent();
+            event.begin();
+            playOnce(player, winningBin);
+            commit(event, 1);
+        } else {
+            playOnce(player, winningBin);
+        }
+    }
+
+    /**
+     * Plays a cycle with a single Player who is playing.
+     *
+     * @param player     the individual player that places bets, receives winnings and pays losses
+     * @param winningBin the Bin which wins this cycle, or null to spin the Wheel
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    private void playOnce(Player player, Bin winningBin) throws InvalidBetException {
+        if (profiler != null) {
+            playProfiled(player, winningBin);
+            return;
+        }
+
         // Notify player to place bets
         player.placeBets();
 
         // Spin wheel for winners
-        Bin winningBin = wheel.next();
-
-        // See which bets won or lost
-        List<Bet> winningBets = new ArrayList<>();
-        List<Bet> losingBets = new ArrayList<>();
-        for (ListIterator<Bet> it = table.iterator(); it.hasNext(); ) {
-            Bet bet = it.next();
-            if (winningBin.contains(bet.outcome)) {
-                winningBets.add(bet);
-            } else {
-                losingBets.add(bet);
+        if (winningBin == null) {
+            winningBin = wheel.next();
+        }
+
+        int count = resolve(winningBin);
+        pay(player, count);
+        endRound(player, winningBin);
+    }
+
+    /**
+     * Plays a cycle with a single Player like play(), recording the time taken by every phase.
+     *
+     * @param player     the individual player that places bets, receives winnings and pays losses
+     * @param winningBin the Bin which wins this cycle, or null to spin the Wheel
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    private void playProfiled(Player player, Bin winningBin) throws InvalidBetException {
+        long start = System.nanoTime();
+        player.placeBets();
+        long placed = System.nanoTime();
+
+        if (winningBin == null) {
+            winningBin = wheel.next();
+        }
+        long spun = System.nanoTime();
+
+        int count = resolve(winningBin);
+        long settled = System.nanoTime();
+
+        pay(player, count);
+        long paid = System.nanoTime();
+
+        endRound(player, winningBin);
+        profiler.record(start, placed, spun, settled, paid, System.nanoTime());
+    }
+
+    /**
+     * Plays a cycle with many Players.
+     *
+     * @param players    the players at the Table
+     * @param winningBin the Bin which wins this cycle, or null to spin the Wheel
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    private void play(List<? extends Player> players, Bin winningBin) throws InvalidBetException {
+        if (sampleSpin()) {
+            SpinEvent event = new SpinEvent();
+            event.begin();
+            if (playOnce(players, winningBin)) {
+                int count = 0;
+                for (int i = 0, size = players.size(); i < size; i++) {
+                    if (playing[i]) {
+                        count++;
+                    }
+                }
+                commit(event, count);
+            }
+        } else {
+            playOnce(players, winningBin);
+        }
+    }
+
+    /**
+     * Plays a cycle with many Players.
+     *
+     * @param players    the players at the Table
+     * @param winningBin the Bin which wins this cycle, or null to spin the Wheel
+     * @return whether any Player played
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    private boolean playOnce(List<? extends Player> players, Bin winningBin) throws InvalidBetException {
+        if (profiler != null) {
+            return playProfiled(players, winningBin);
+        }
+
+        if (!placeBets(players)) {
+            return false;
+        }
+
+        if (winningBin == null) {
+            winningBin = wheel.next();
+        }
+
+        int count = resolve(winningBin);
+        payParents(count);
+        endRounds(players, winningBin);
+        return true;
+    }
+
+    /**
+     * Plays a cycle with many Players like play(), recording the time taken by every phase.
+     *
+     * @param players    the players at the Table
+     * @param winningBin the Bin which wins this cycle, or null to spin the Wheel
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    private boolean playProfiled(List<? extends Player> players, Bin winningBin) throws InvalidBetException {
+        long start = System.nanoTime();
+        if (!placeBets(players)) {
+            return false;
+        }
+        long placed = System.nanoTime();
+
+        if (winningBin == null) {
+            winningBin = wheel.next();
+        }
+        long spun = System.nanoTime();
+
+        int count = resolve(winningBin);
+        long settled = System.nanoTime();
+
+        payParents(count);
+        long paid = System.nanoTime();
+
+        endRounds(players, winningBin);
+        profiler.record(start, placed, spun, settled, paid, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Counts a cycle towards the next SpinEvent, and tells whether this cycle is sampled and a recording is collecting
+     * SpinEvents.
+     *
+     * @return true if this cycle is recorded as a SpinEvent
+     */
+    private boolean sampleSpin() {
+        if (spinEventInterval == 0 || ++cyclesSinceSpinEvent < spinEventInterval) {
+            return false;
+        }
+        cyclesSinceSpinEvent = 0;
+        return SPIN_EVENT_TYPE.isEnabled();
+    }
+
+    /**
+     * Completes the SpinEvent of a sampled cycle with the result of the cycle, and records it.
+     *
+     * @param event   the event, begun before the cycle
+     * @param players the number of Players who played
+     */
+    private void commit(SpinEvent event, int players) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.bin = wheel.indexOf(resolvedBin);
+            event.players = players;
+            event.bets = resolvedCount;
+            for (int i = 0; i < resolvedCount; i++) {
+                if (settledWins[i]) {
+                    event.winningBets++;
+                }
             }
-            it.remove();
+            event.commit();
         }
+    }
+
+    /**
+     * Notifies every Player who is playing to place their bets, remembering who played.
+     *
+     * @param players the players at the Table
+     * @return whether any Player is playing
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    private boolean placeBets(List<? extends Player> players) throws InvalidBetException {
+        int count = players.size();
+        if (count > playing.length) {
+            playing = new boolean[Math.max(count, playing.length * 2)];
+        }
+
+        boolean anyPlaying = false;
+        for (int i = 0; i < count; i++) {
+            Player player = players.get(i);
+            playing[i] = player.playing();
+            if (playing[i]) {
+                player.placeBets();
+                anyPlaying = true;
+            }
+        }
+        return anyPlaying;
+    }
+
+    /**
+     * Sees which Bets on the Table won or lost against the winning Bin, and takes them off the Table.
+     *
+     * @param winningBin the Bin which won this cycle
+     * @return the number of Bets resolved into settledBets and settledWins
+     */
+    private int resolve(Bin winningBin) {
+        int count = table.size();
+        if (count > settledBets.length) {
+            settledBets = new Bet[Math.max(count, settledBets.length * 2)];
+            settledWins = new boolean[settledBets.length];
+        }
+        for (int i = 0; i < count; i++) {
+            Bet bet = table.get(i);
+            settledBets[i] = bet;
+            settledWins[i] = winningBin.contains(bet.outcome);
+        }
+        table.clear();
 
+        resolvedBin = winningBin;
+        resolvedCount = count;
+        return count;
+    }
+
+    /**
+     * Tells a single Player whether each of the resolved Bets won or lost.
+     *
+     * @param player the individual player that placed the Bets
+     * @param count  the number of Bets resolved
+     */
+    private void pay(Player player, int count) {
         // Tell player about if his bets won or lost
-        for (Bet bet : winningBets) {
-            player.win(bet);
+        for (int i = 0; i < count; i++) {
+            if (settledWins[i]) {
+                player.win(settledBets[i]);
+            }
         }
-        for (Bet bet : losingBets) {
-            player.lose(bet);
+        for (int i = 0; i < count; i++) {
+            if (!settledWins[i]) {
+                player.lose(settledBets[i]);
+            }
+            settledBets[i] = null;
         }
+    }
+
+    /**
+     * Tells the Player who placed each of the resolved Bets whether it won or lost. Bets without a parent Player are
+     * taken off the Table without being settled.
+     *
+     * @param count the number of Bets resolved
+     */
+    private void payParents(int count) {
+        // Tell players about if their bets won or lost
+        for (int i = 0; i < count; i++) {
+            Bet bet = settledBets[i];
+            if (settledWins[i] && bet.parent != null) {
+                bet.parent.win(bet);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            Bet bet = settledBets[i];
+            if (!settledWins[i] && bet.parent != null) {
+                bet.parent.lose(bet);
+            }
+            settledBets[i] = null;
+        }
+    }
 
+    /**
+     * Ends the round of a Player who played.
+     *
+     * @param player     the individual player that played this cycle
+     * @param winningBin the Bin which won this cycle
+     */
+    private void endRound(Player player, Bin winningBin) {
         // Tell player about outcomes that would have won
         player.notifyWinners(winningBin);
 
         // Update player round counter
         player.roundsToGo -= 1;
     }
+
+    /**
+     * Ends the round of every Player who played.
+     *
+     * @param players    the players at the Table
+     * @param winningBin the Bin which won this cycle
+     */
+    private void endRounds(List<? extends Player> players, Bin winningBin) {
+        for (int i = 0, size = players.size(); i < size; i++) {
+            if (playing[i]) {
+                endRound(players.get(i), winningBin);
+            }
+        }
+    }
 }
@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Histogram counts a stream of values in a fixed number of buckets spanning a range, either of equal width or of
+ * equal ratio between their bounds, with two more counts for the values below and above the range. It keeps the full
+ * shape of a distribution, its tails included, in a single primitive array however many values it sees.
+ * <p>
+ * Two histograms with the same buckets merge by adding their arrays, so that every thread can fill its own
+ * histogram without locking and the histograms can be combined afterwards.
+ */
+public class Histogram {
+
+    /**
+     * Whether the bounds of the buckets grow geometrically rather than linearly.
+     */
+    public final boolean LOGARITHMIC;
+
+    /**
+     * The lower bound of the first bucket, inclusive.
+     */
+    public final double MIN;
+
+    /**
+     * The upper bound of the last bucket, exclusive.
+     */
+    public final double MAX;
+
+    /**
+     * The number of buckets per unit of value, or per unit of the logarithm of the value.
+     */
+    protected final double SCALE;
+
+    /**
+     * The count of every bucket.
+     */
+    protected final long[] counts;
+
+    /**
+     * The number of values below MIN, and not below MAX.
+     */
+    protected long underflow = 0, overflow = 0;
+
+    /**
+     * @param logarithmic whether the bounds of the buckets grow geometrically
+     * @param min         the lower bound of the first bucket
+     * @param max         the upper bound of the last bucket
+     * @param buckets     the number of buckets
+     */
+    protected Histogram(boolean logarithmic, double min, double max, int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("buckets must be positive");
+        }
+        if (!(min < max) || (logarithmic && !(min > 0))) {
+            throw new IllegalArgumentException("Invalid range [" + min + ", " + max + ")");
+        }
+        this.LOGARITHMIC = logarithmic;
+        this.MIN = min;
+        this.MAX = max;
+        this.SCALE = buckets / (logarithmic ? Math.log(max) - Math.log(min) : max - min);
+        this.counts = new long[buckets];
+    }
+
+    /**
+     * Creates a histogram whose buckets all have the same width.
+     *
+     * @param min     the lower bound of the first bucket, inclusive
+     * @param max     the upper bound of the last bucket, exclusive
+     * @param buckets the number of buckets
+     * @return the empty histogram
+     */
+    public static Histogram linear(double min, double max, int buckets) {
+        return new Histogram(false, min, max, buckets);
+    }
+
+    /**
+     * Creates a histogram whose buckets all have the same ratio between their upper and lower bounds, which resolves
+     * long tails without wasting buckets on them.
+     *
+     * @param min     the lower bound of the first bucket, inclusive and positive
+     * @param max     the upper bound of the last bucket, exclusive
+     * @param buckets the number of buckets
+     * @return the empty histogram
+     */
+    public static Histogram logarithmic(double min, double max, int buckets) {
+        return new Histogram(true, min, max, buckets);
+    }
+
+    /**
+     * @return an empty histogram with the same buckets as this one
+     */
+    public Histogram emptyCopy() {
+        return new Histogram(LOGARITHMIC, MIN, MAX, counts.length);
+    }
+
+    /**
+     * Adds a value to the histogram.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        if (!(value >= MIN)) {
+            underflow++;
+        } else if (value >= MAX) {
+            overflow++;
+        } else {
+            double position = LOGARITHMIC ? Math.log(value) - Math.log(MIN) : value - MIN;
+            // Rounding may put a value just below MAX past the last bucket
+            counts[Math.min((int) (position * SCALE), counts.length - 1)]++;
+        }
+    }
+
+    /**
+     * Merges the counts of another histogram with the same buckets into this histogram.
+     *
+     * @param other the histogram to merge into this one
+     * @throws IllegalArgumentException if the other histogram has different buckets
+     */
+    public void merge(Histogram other) {
+        if (!hasSameBuckets(other)) {
+            throw new IllegalArgumentException("Cannot merge histograms with different buckets");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        underflow += other.underflow;
+        overflow += other.overflow;
+    }
+
+    /**
+     * @param other another histogram
+     * @return whether the other histogram has the same buckets as this one
+     */
+    public boolean hasSameBuckets(Histogram other) {
+        return LOGARITHMIC == other.LOGARITHMIC && MIN == other.MIN && MAX == other.MAX
+                && counts.length == other.counts.length;
+    }
+
+    /**
+     * Writes the buckets and their counts, so that they can be read back exactly.
+     *
+     * @param out where to write the histogram
+     * @throws IOException if the histogram cannot be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeBoolean(LOGARITHMIC);
+        out.writeDouble(MIN);
+        out.writeDouble(MAX);
+        out.writeInt(counts.length);
+        for (long count : counts) {
+            out.writeLong(count);
+        }
+        out.writeLong(underflow);
+        out.writeLong(overflow);
+    }
+
+    /**
+     * Replaces the counts of this histogram with those written by write().
+     *
+     * @param in where to read the histogram
+     * @throws IOException if the histogram cannot be read, or was written with other buckets
+     */
+    public void read(DataInput in) throws IOException {
+        if (in.readBoolean() != LOGARITHMIC || in.readDouble() != MIN || in.readDouble() != MAX
+                || in.readInt() != counts.length) {
+            throw new IOException("Histogram was written with other buckets");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = in.readLong();
+        }
+        underflow = in.readLong();
+        overflow = in.readLong();
+    }
+
+    /**
+     * Forgets all the values counted so far.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        underflow = 0;
+        overflow = 0;
+    }
+
+    /**
+     * @return a description of the buckets, such as linear(0.0, 250.0, 25)
+     */
+    @Override
+    public String toString() {
+        return (LOGARITHMIC ? "logarithmic(" : "linear(") + MIN + ", " + MAX + ", " + counts.length + ")";
+    }
+
+    /**
+     * @return the number of buckets
+     */
+    public int getBucketCount() {
+        return counts.length;
+    }
+
+    /**
+     * @param bucket the index of a bucket
+     * @return the number of values counted in the bucket
+     */
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    /**
+     * @param bucket the index of a bucket
+     * @return the lower bound of the bucket, inclusive
+     */
+    public double getLowerBound(int bucket) {
+        if (bucket == 0) {
+            return MIN;
+        }
+        return LOGARITHMIC ? MIN * Math.exp(bucket / SCALE) : MIN + bucket / SCALE;
+    }
+
+    /**
+     * @param bucket the index of a bucket
+     * @return the upper bound of the bucket, exclusive
+     */
+    public double getUpperBound(int bucket) {
+        return bucket == counts.length - 1 ? MAX : getLowerBound(bucket + 1);
+    }
+
+    /**
+     * @return the number of values below MIN
+     */
+    public long getUnderflow() {
+        return underflow;
+    }
+
+    /**
+     * @return the number of values not below MAX
+     */
+    public long getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * @return the number of values counted, in the buckets or outside them
+     */
+    public long getTotal() {
+        long total = underflow + overflow;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Writes the histogram as CSV, one line per bucket with its bounds and count, after a header line. The values
+     * below and above the range are written as buckets with infinite bounds, so that the counts add up to the total.
+     *
+     * @param out where to write the histogram
+     * @throws IOException if the histogram cannot be written
+     */
+    public void writeCsv(Appendable out) throws IOException {
+        out.append("lower,upper,count\n");
+        out.append(Double.toString(Double.NEGATIVE_INFINITY)).append(',').append(Double.toString(MIN)).append(',')
+                .append(Long.toString(underflow)).append('\n');
+        for (int i = 0; i < counts.length; i++) {
+            out.append(Double.toString(getLowerBound(i))).append(',').append(Double.toString(getUpperBound(i)))
+                    .append(',').append(Long.toString(counts[i])).append('\n');
+        }
+        out.append(Double.toString(MAX)).append(',').append(Double.toString(Double.POSITIVE_INFINITY)).append(',')
+                .append(Long.toString(overflow)).append('\n');
+    }
+}
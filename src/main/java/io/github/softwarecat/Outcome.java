@@ -24,6 +24,7 @@
 
 package io.github.softwarecat;
 
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -46,6 +47,24 @@ public class Outcome {
      */
     protected final int ODDS;
 
+    /**
+     * The dense index of this Outcome on its Wheel, assigned by Wheel.addOutcome(). Bins use it as a bit position.
+     * Outcomes which were never added to a Wheel have no id, which is represented by -1.
+     */
+    protected int id = -1;
+
+    /**
+     * The Outcomes of the Wheel which assigned the id, or null if this Outcome has no id. Ids are only unique among
+     * the Outcomes of one Wheel, and of the Wheels sharing its layout, so two Outcomes with the same id are the same
+     * Outcome only if they also have the same id space.
+     */
+    protected Map<String, Outcome> idSpace;
+
+    /**
+     * The kind of proposition this Outcome represents, or null for Outcomes which are not part of a layout.
+     */
+    protected final BetCategory CATEGORY;
+
     /**
      * Sets the instance name and odds from the parameter name and odds.
      *
@@ -53,8 +72,20 @@ public class Outcome {
      * @param odds the payout odds of this outcome
      */
     public Outcome(String name, int odds) {
+        this(name, odds, null);
+    }
+
+    /**
+     * Sets the instance name, odds and category.
+     *
+     * @param name     the name of this outcome
+     * @param odds     the payout odds of this outcome
+     * @param category the kind of proposition this outcome represents
+     */
+    public Outcome(String name, int odds, BetCategory category) {
         this.NAME = name;
         this.ODDS = odds;
+        this.CATEGORY = category;
     }
 
     /**
@@ -67,6 +98,20 @@ public class Outcome {
         return ODDS * amount;
     }
 
+    /**
+     * @return the dense index of this Outcome on its Wheel, or -1 if it was never added to a Wheel
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the kind of proposition this Outcome represents, or null if it has none
+     */
+    public BetCategory getCategory() {
+        return CATEGORY;
+    }
+
     /**
      * Compare the name attributes of this and other.
      *
@@ -81,9 +126,14 @@ public class Outcome {
         return Objects.equals(NAME, outcome.NAME);
     }
 
+    /**
+     * Hashes the name directly; Objects.hash() would allocate a varargs array on every Bin lookup.
+     *
+     * @return the hash code of the name
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(NAME);
+        return Objects.hashCode(NAME);
     }
 
     /**
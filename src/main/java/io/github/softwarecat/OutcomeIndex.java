@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.util.*;
+
+/**
+ * OutcomeIndex finds the Outcomes of a Wheel by BetCategory and by the bins they cover, each in constant time. It is
+ * built once, after all Outcomes have been added to the Wheel, and does not change afterwards.
+ */
+public class OutcomeIndex {
+
+    /**
+     * The Outcomes of each category.
+     */
+    private final Map<BetCategory, List<Outcome>> BY_CATEGORY = new EnumMap<>(BetCategory.class);
+
+    /**
+     * The Outcomes keyed by their category and the bins they cover, see key().
+     */
+    private final Map<Long, Outcome> BY_BINS = new HashMap<>();
+
+    /**
+     * Indexes all the Outcomes of the wheel which have a category. Outcomes in its Bins which were not added through
+     * the wheel are ignored.
+     *
+     * @param wheel the wheel, with all its Outcomes added
+     */
+    public OutcomeIndex(Wheel wheel) {
+        // Collect the bins covered by each Outcome id. Outcomes added to a Bin directly, with no id or an id of
+        // another wheel, are not Outcomes of the wheel and are left out
+        long[] masks = new long[wheel.getOutcomeCount()];
+        for (int bin = 0; bin < 38; bin++) {
+            for (Outcome outcome : wheel.getBin(bin)) {
+                if (outcome.id >= 0 && outcome.idSpace == wheel.getAllOutcomes()) {
+                    masks[outcome.id] |= 1L << bin;
+                }
+            }
+        }
+
+        for (BetCategory category : BetCategory.values()) {
+            BY_CATEGORY.put(category, new ArrayList<>());
+        }
+        for (Outcome outcome : wheel.getAllOutcomes().values()) {
+            if (outcome.getCategory() != null) {
+                BY_CATEGORY.get(outcome.getCategory()).add(outcome);
+                BY_BINS.put(key(outcome.getCategory(), masks[outcome.getId()]), outcome);
+            }
+        }
+        for (BetCategory category : BetCategory.values()) {
+            BY_CATEGORY.put(category, Collections.unmodifiableList(BY_CATEGORY.get(category)));
+        }
+    }
+
+    /**
+     * Combines a category and a set of bins, 0 to 37 with 37 standing for 00, into a single key.
+     *
+     * @param category the category
+     * @param mask     bit i is set when bin i is covered
+     * @return the key
+     */
+    protected static long key(BetCategory category, long mask) {
+        return ((long) category.ordinal() << 38) | mask;
+    }
+
+    /**
+     * @param category the category
+     * @return the Outcomes of the category
+     */
+    public List<Outcome> getOutcomes(BetCategory category) {
+        return BY_CATEGORY.get(category);
+    }
+
+    /**
+     * Finds the Outcome of the given category covering exactly the given bins.
+     *
+     * @param category the category
+     * @param bins     the bins covered, 0 to 37 with 37 standing for 00
+     * @return the Outcome, or null if there is no such Outcome
+     */
+    public Outcome getOutcome(BetCategory category, int... bins) {
+        long mask = 0;
+        for (int bin : bins) {
+            mask |= 1L << bin;
+        }
+        return BY_BINS.get(key(category, mask));
+    }
+}
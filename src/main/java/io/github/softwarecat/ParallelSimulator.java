@@ -0,0 +1,855 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.Player;
+import io.github.softwarecat.player.PlayerFactory;
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.RandomSource;
+import io.github.softwarecat.random.RandomSourceFactory;
+import io.github.softwarecat.random.RandomSourceType;
+import io.github.softwarecat.random.SplitMix64;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ParallelSimulator gathers the same statistics as Simulator, but spreads the sessions over several threads. Each
+ * worker thread owns its own Wheel, Table and Player, built with the PlayerFactory, so no game state is shared.
+ * <p>
+ * Every sample is seeded from the master seed and its own index, never from the thread which happens to run it.
+ * Samples are processed in fixed-size chunks and the chunk results are combined in sample order, so the
+ * statistics are bit-identical for any number of threads. The Wheel and the Player of a sample draw from two
+ * RandomSources of the chosen type, reseeded for the sample, so every sample has its own reproducible streams.
+ * <p>
+ * Alternatively, gather(ExecutorService, Duration) runs every session as its own task on a caller-supplied executor,
+ * so that short sessions never wait behind long ones at a chunk boundary. On a runtime with virtual threads, an
+ * executor starting a virtual thread per task is the natural choice.
+ */
+public class ParallelSimulator extends Simulator {
+
+    /**
+     * The number of consecutive samples handed to a worker at a time.
+     */
+    public static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The magic number at the start of every checkpoint file: "CKPT" in ASCII.
+     */
+    protected static final int CHECKPOINT_MAGIC = 0x434B5054;
+
+    /**
+     * The betting strategy simulated by every worker.
+     */
+    public final PlayerType PLAYER_TYPE;
+
+    /**
+     * The type of the random number generators of every worker.
+     */
+    public final RandomSourceType RANDOM_SOURCE_TYPE;
+
+    /**
+     * The seed from which the seed of every sample is derived.
+     */
+    public long seed;
+
+    /**
+     * The number of worker threads. Defaults to the number of available processors.
+     */
+    public int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The number of sessions which completed during the last gather.
+     */
+    public int completedSamples;
+
+    /**
+     * The number of sessions which completed by the deadline of the last gather, but were left out of the statistics
+     * because a session before them had not. Only gather(ExecutorService, Duration) discards any.
+     */
+    public int discardedSamples;
+
+    /**
+     * The number of sessions completed per second during the last gather.
+     */
+    public double throughput;
+
+    /**
+     * The cache of the statistics of earlier gathers, or null to always run the sessions.
+     */
+    protected ResultCache resultCache;
+
+    /**
+     * The file recording the progress of gather(), or null not to record it.
+     */
+    protected Path checkpointPath;
+
+    /**
+     * The least time between two checkpoints, in nanoseconds.
+     */
+    protected long checkpointInterval;
+
+    /**
+     * The value of System.nanoTime() after which the next checkpoint is written.
+     */
+    protected long nextCheckpoint;
+
+    /**
+     * Idle workers, ready to be borrowed by the next chunk.
+     */
+    protected final Queue<Worker> workers = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a simulator for the given strategy with a master seed.
+     *
+     * @param playerType the betting strategy to simulate
+     * @param seed       the master seed of the simulation
+     */
+    public ParallelSimulator(PlayerType playerType, long seed) {
+        this(playerType, seed, RandomSourceType.JDK);
+    }
+
+    /**
+     * Creates a simulator for the given strategy with a master seed, whose workers use random number generators of
+     * the given type.
+     *
+     * @param playerType       the betting strategy to simulate
+     * @param seed             the master seed of the simulation
+     * @param randomSourceType the type of random number generator used by the workers
+     */
+    public ParallelSimulator(PlayerType playerType, long seed, RandomSourceType randomSourceType) {
+        this(playerType, seed, randomSourceType, new Worker(playerType, randomSourceType));
+    }
+
+    private ParallelSimulator(PlayerType playerType, long seed, RandomSourceType randomSourceType, Worker worker) {
+        super(worker.simulator.game, worker.simulator.player);
+        this.PLAYER_TYPE = playerType;
+        this.RANDOM_SOURCE_TYPE = randomSourceType;
+        this.seed = seed;
+        workers.add(worker);
+    }
+
+    /**
+     * Looks up the statistics of gather() in a cache before running any session, and stores them there afterwards.
+     * The cache is not used while results are written, since it keeps no individual sessions.
+     *
+     * @param resultCache the cache, or null to always run the sessions
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Records the progress of gather() in a checkpoint file at least every interval, so that a gather which dies can
+     * be resumed. A checkpoint holds the statistics of the sessions completed and the index of the next sample; since
+     * every sample is seeded by its index, that index is the position of every random number stream. Checkpoints are
+     * written on chunk boundaries, to a temporary file which is then renamed, so a checkpoint is never partial. The
+     * file is deleted once the gather completes.
+     * <p>
+     * A result cache takes precedence over checkpoints: a gather() served by the cache, even partly, neither writes
+     * nor deletes the checkpoint file, whereas resume() continues from the checkpoint file without the cache.
+     *
+     * @param path     the checkpoint file, or null not to write checkpoints
+     * @param interval the least time between two checkpoints
+     */
+    public void setCheckpoint(Path path, Duration interval) {
+        this.checkpointPath = path;
+        this.checkpointInterval = interval.toNanos();
+    }
+
+    /**
+     * Derives the seed of a single sample from the master seed, using the SplitMix64 finalizer so that
+     * neighbouring indices give unrelated seeds.
+     *
+     * @param seed  the master seed
+     * @param index the index of the sample
+     * @return the seed of the sample
+     */
+    public static long sampleSeed(long seed, long index) {
+        return SplitMix64.mix(seed + (index + 1) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Executes the number of game sessions in samples, a chunk at a time on a pool of threads, and combines the
+     * duration and maximum metrics of every session in sample order. With a result cache, only the sessions missing
+     * from the cache are run.
+     *
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    @Override
+    public void gather() throws InvalidBetException {
+        long startTime = System.nanoTime();
+        long initialCount = statistics.getCount();
+
+        if (resultCache != null && resultWriter == null) {
+            // The cache takes precedence, and a checkpoint file from an earlier gather is left for resume()
+            nextCheckpoint = Long.MAX_VALUE;
+            statistics.merge(resultCache.gather(this));
+        } else if (checkpointPath != null) {
+            // A checkpoint holds the statistics of this gather alone
+            nextCheckpoint = startTime + checkpointInterval;
+            SessionStatistics progress = statistics.emptyCopy();
+            gather(progress, 0, samples, null, 0, 0);
+            statistics.merge(progress);
+            deleteCheckpoint();
+        } else {
+            gather(statistics, 0, samples, null, 0, 0);
+        }
+
+        summarize(startTime, initialCount);
+    }
+
+    /**
+     * Continues the gather recorded in the checkpoint file, running only the samples it had not completed, and
+     * keeps writing checkpoints. The statistics are identical to those of a gather which was never interrupted. If
+     * there is no checkpoint file, this is a plain gather().
+     * <p>
+     * Results written by the interrupted gather are not part of the checkpoint; a result writer set for the resumed
+     * gather receives the remaining samples only.
+     *
+     * @throws InvalidBetException      if the Player attempts to place a bet which exceeds the table’s limit
+     * @throws IllegalStateException    if no checkpoint file is set
+     * @throws IllegalArgumentException if the checkpoint was written by a simulation with another configuration, or
+     *                                  with more samples
+     * @throws UncheckedIOException     if the checkpoint file cannot be read
+     */
+    public void resume() throws InvalidBetException {
+        if (checkpointPath == null) {
+            throw new IllegalStateException("No checkpoint file set");
+        }
+        if (!Files.exists(checkpointPath)) {
+            gather();
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        long initialCount = statistics.getCount();
+        nextCheckpoint = startTime + checkpointInterval;
+
+        SessionStatistics progress = statistics.emptyCopy();
+        int completed = readCheckpoint(progress);
+        gather(progress, completed, samples, null, 0, 0);
+        statistics.merge(progress);
+        deleteCheckpoint();
+
+        // Only the sessions run since the checkpoint count towards the throughput
+        summarize(startTime, initialCount + completed);
+    }
+
+    /**
+     * Executes game sessions until the mean of the given metric is known to the given precision, or maxSamples
+     * sessions have run. Sessions run a chunk at a time on a pool of threads exactly like gather(), and the precision
+     * is checked each time a chunk is combined, in sample order. The number of sessions kept therefore depends only
+     * on the seed, never on the number of threads; completedSamples tells how many there are.
+     * <p>
+     * The precision is the half-width of the confidence interval of the mean, the standard error multiplied by z;
+     * StrategyComparison.Z_95 gives a 95% interval. Since the first check is made after a whole chunk, the standard
+     * error is never estimated from a handful of sessions.
+     *
+     * @param metric     the metric whose mean must be known precisely
+     * @param halfWidth  the largest acceptable half-width of the confidence interval
+     * @param z          the number of standard errors in the half-width
+     * @param maxSamples the largest number of sessions to run
+     * @return true if the precision was reached, false if maxSamples sessions ran first
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    public boolean gather(SessionMetric metric, double halfWidth, double z, int maxSamples)
+            throws InvalidBetException {
+        if (!(halfWidth > 0)) {
+            throw new IllegalArgumentException("halfWidth must be positive");
+        }
+        long startTime = System.nanoTime();
+        long initialCount = statistics.getCount();
+        // resume() continues a fixed number of samples, so this gather writes no checkpoints
+        nextCheckpoint = Long.MAX_VALUE;
+
+        boolean precise = gather(statistics, 0, maxSamples, metric, halfWidth, z);
+
+        summarize(startTime, initialCount);
+        return precise;
+    }
+
+    /**
+     * Runs the samples in a range a chunk at a time, combining the chunks in sample order, until the end of the
+     * range is reached or the metric is precise enough. The chunks are aligned on the start of the range, so a range
+     * starting on a multiple of CHUNK_SIZE is split exactly like the same samples of a gather from the first sample.
+     *
+     * @param target    the statistics the chunks are merged into
+     * @param from      the index of the first sample, inclusive
+     * @param to        the index of the last sample, exclusive
+     * @param metric    the metric whose precision ends the gather early, or null to run all the sessions
+     * @param halfWidth the half-width of the confidence interval which ends the gather
+     * @param z         the number of standard errors in the half-width
+     * @return true if the metric reached the precision
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    protected boolean gather(SessionStatistics target, int from, int to, SessionMetric metric, double halfWidth,
+                             double z) throws InvalidBetException {
+        boolean precise = false;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Keep a bounded number of chunks in flight, consuming them in order
+            Deque<Future<Chunk>> pending = new ArrayDeque<>();
+            int window = threads * 4;
+            boolean keepResults = resultWriter != null;
+            for (int start = from; !precise && (start < to || !pending.isEmpty()); ) {
+                while (start < to && pending.size() < window) {
+                    int chunkFrom = start;
+                    int chunkTo = Math.min(to, start + CHUNK_SIZE);
+                    pending.add(executor.submit(() -> runChunk(chunkFrom, chunkTo, keepResults)));
+                    start = chunkTo;
+                }
+
+                Chunk chunk = await(pending.poll());
+                target.merge(chunk.statistics);
+                chunk.writeResults(this);
+                checkpoint(target, chunk.from + (int) chunk.statistics.getCount());
+
+                precise = metric != null && metric.of(target).getConfidenceHalfWidth(z) <= halfWidth;
+            }
+        } finally {
+            // Chunks started past the point where the precision was reached are abandoned, and stop at their next
+            // session so that none is still running, and holding a worker, when the gather returns
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+        return precise;
+    }
+
+    /**
+     * Writes a checkpoint if one is due and the statistics are those of every sample up to the given one.
+     *
+     * @param statistics the statistics of the samples completed
+     * @param completed  the number of samples completed
+     * @throws UncheckedIOException if the checkpoint cannot be written
+     */
+    protected void checkpoint(SessionStatistics statistics, int completed) {
+        if (checkpointPath == null || completed % CHUNK_SIZE != 0 || statistics.getCount() != completed
+                || System.nanoTime() < nextCheckpoint) {
+            return;
+        }
+
+        try {
+            Path directory = checkpointPath.toAbsolutePath().getParent();
+            Path temporary = Files.createTempFile(directory, checkpointPath.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    out.writeInt(CHECKPOINT_MAGIC);
+                    out.writeUTF(ResultCache.key(this));
+                    out.writeInt(completed);
+                    statistics.write(out);
+                }
+                Files.move(temporary, checkpointPath, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        nextCheckpoint = System.nanoTime() + checkpointInterval;
+    }
+
+    /**
+     * Reads the checkpoint file into the given statistics.
+     *
+     * @param statistics the empty statistics to fill in
+     * @return the number of samples completed
+     * @throws IllegalArgumentException if the checkpoint belongs to another simulation
+     * @throws UncheckedIOException     if the checkpoint file cannot be read
+     */
+    protected int readCheckpoint(SessionStatistics statistics) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointPath)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                throw new IOException(checkpointPath + " is not a checkpoint");
+            }
+            if (!in.readUTF().equals(ResultCache.key(this))) {
+                throw new IllegalArgumentException("Checkpoint was written by a simulation with another configuration");
+            }
+            int completed = in.readInt();
+            if (completed > samples) {
+                throw new IllegalArgumentException("Checkpoint has more samples than the simulation");
+            }
+            statistics.read(in);
+            return completed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes the checkpoint file of a completed gather.
+     *
+     * @throws UncheckedIOException if the checkpoint file cannot be deleted
+     */
+    protected void deleteCheckpoint() {
+        if (checkpointPath != null) {
+            try {
+                Files.deleteIfExists(checkpointPath);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Executes the number of game sessions in samples, each session as a separate task on the given executor. When
+     * the timeout expires, the sessions which have not completed yet are cancelled, stopping at their next cycle, and
+     * left out of the statistics. The sessions kept are the longest run of completed sessions from the first sample,
+     * combined in sample order; completedSamples tells how many there are, and discardedSamples how many sessions
+     * completed by the deadline after a gap and were left out, so that the statistics do not favour the sessions
+     * which end quickly.
+     * <p>
+     * The executor is not shut down, but no session started by this method is still running when it returns.
+     *
+     * @param executor the executor running the sessions
+     * @param timeout  the time after which unfinished sessions are cancelled, or null to wait for all of them
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    public void gather(ExecutorService executor, Duration timeout) throws InvalidBetException {
+        long startTime = System.nanoTime();
+        long deadline = timeout == null ? Long.MAX_VALUE : startTime + timeout.toNanos();
+        long initialCount = statistics.getCount();
+
+        // Sessions are grouped by chunk exactly like gather() does, so that both give the same statistics
+        SessionStatistics chunk = statistics.emptyCopy();
+        int recorded = 0;
+        int discarded = 0;
+
+        // The gather takes part in the phaser, and so does every session task while it runs
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Phaser running = new Phaser(1);
+        Deque<Future<SessionResult>> pending = new ArrayDeque<>();
+        try {
+            int window = threads * 64;
+            for (int next = 0; next < samples || !pending.isEmpty(); ) {
+                while (next < samples && pending.size() < window) {
+                    int index = next++;
+                    pending.add(executor.submit(() -> {
+                        running.register();
+                        try {
+                            return cancelled.get() ? null : runSession(index);
+                        } finally {
+                            running.arriveAndDeregister();
+                        }
+                    }));
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !awaitUntil(pending.peek(), remaining)) {
+                    break;
+                }
+                record(chunk, await(pending.poll()), recorded++);
+            }
+
+            // Sessions which finished by the deadline are kept, the others are abandoned
+            while (!pending.isEmpty() && pending.peek().isDone()) {
+                record(chunk, await(pending.poll()), recorded++);
+            }
+            for (Future<SessionResult> future : pending) {
+                if (completed(future)) {
+                    discarded++;
+                }
+            }
+            statistics.merge(chunk);
+        } finally {
+            cancelled.set(true);
+            for (Future<SessionResult> future : pending) {
+                future.cancel(true);
+            }
+            // A task which starts from now on registers in the next phase, and sees the gather is cancelled
+            running.arriveAndAwaitAdvance();
+        }
+
+        summarize(startTime, initialCount);
+        discardedSamples = discarded;
+    }
+
+    /**
+     * Tells whether a session task has completed with the result of a session.
+     *
+     * @param future the session task
+     * @return true if the session completed, false if it is still running, was cancelled or failed
+     */
+    protected static boolean completed(Future<SessionResult> future) {
+        if (!future.isDone() || future.isCancelled()) {
+            return false;
+        }
+        try {
+            return future.get() != null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Adds the metrics of a completed session to the current chunk, merging the chunk into the statistics once it is
+     * full.
+     *
+     * @param chunk   the statistics of the current chunk
+     * @param session the summary of the session
+     * @param index   the index of the sample
+     */
+    protected void record(SessionStatistics chunk, SessionResult session, int index) {
+        chunk.add(session);
+        writeResult(session, sampleSeed(seed, index));
+        if (chunk.getCount() == CHUNK_SIZE) {
+            statistics.merge(chunk);
+            chunk.reset();
+        }
+    }
+
+    /**
+     * Computes the statistics of all recorded sessions and the throughput of the gather.
+     *
+     * @param startTime    the value of System.nanoTime() when the gather started
+     * @param initialCount the number of sessions recorded before the gather started
+     */
+    protected void summarize(long startTime, long initialCount) {
+        summarize();
+
+        completedSamples = (int) (statistics.getCount() - initialCount);
+        discardedSamples = 0;
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        throughput = completedSamples / seconds;
+    }
+
+    /**
+     * Runs the samples in the given range on a borrowed worker.
+     *
+     * @param from the index of the first sample, inclusive
+     * @param to   the index of the last sample, exclusive
+     * @return the statistics of the sessions
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    protected SessionStatistics runChunk(int from, int to) throws InvalidBetException {
+        return runChunk(from, to, false).statistics;
+    }
+
+    /**
+     * Runs the samples in the given range on a borrowed worker, optionally keeping the result of every session.
+     *
+     * @param from        the index of the first sample, inclusive
+     * @param to          the index of the last sample, exclusive
+     * @param keepResults whether to keep the result of every session, for the result writer
+     * @return the statistics, and possibly the results, of the sessions
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    protected Chunk runChunk(int from, int to, boolean keepResults) throws InvalidBetException {
+        Worker worker = borrowWorker();
+        Chunk chunk = new Chunk(statistics, from, keepResults ? to - from : 0);
+        SessionResult session = new SessionResult();
+        try {
+            for (int i = from; i < to; i++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Chunk from sample " + from + " was abandoned");
+                }
+                chunk.add(worker.run(i, session), keepResults);
+            }
+        } finally {
+            workers.add(worker);
+        }
+        return chunk;
+    }
+
+    /**
+     * Runs a single sample on a borrowed worker.
+     *
+     * @param index the index of the sample
+     * @return the summary of the session
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    protected SessionResult runSession(int index) throws InvalidBetException {
+        Worker worker = borrowWorker();
+        try {
+            return worker.run(index, new SessionResult());
+        } finally {
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Takes an idle worker, or builds a new one, configured for the current simulation.
+     *
+     * @return the worker
+     */
+    protected Worker borrowWorker() {
+        Worker worker = workers.poll();
+        if (worker == null) {
+            worker = new Worker(PLAYER_TYPE, RANDOM_SOURCE_TYPE);
+        }
+
+        worker.simulator.sessionDuration = sessionDuration;
+        worker.simulator.initialStake = initialStake;
+        worker.seed = seed;
+        return worker;
+    }
+
+    /**
+     * Waits for a chunk, unwrapping the failure of the worker.
+     *
+     * @param future the pending chunk
+     * @param <T>    the type of the chunk result
+     * @return the chunk result
+     * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+     */
+    protected static <T> T await(Future<T> future) throws InvalidBetException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while gathering samples");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InvalidBetException) {
+                throw (InvalidBetException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Waits until the given session completes or the timeout expires.
+     *
+     * @param future  the pending session
+     * @param timeout the maximum time to wait, in nanoseconds
+     * @return true if the session completed, false if the timeout expired
+     */
+    protected static boolean awaitUntil(Future<?> future, long timeout) {
+        try {
+            future.get(timeout, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while gathering samples");
+        } catch (ExecutionException e) {
+            // Reported by await()
+        }
+        return true;
+    }
+
+    /**
+     * Waits until every task of an executor which has been shut down has finished. An interrupt does not end the
+     * wait, since the tasks still use the workers, but is passed on once they have finished.
+     *
+     * @param executor the executor which has been shut down
+     */
+    protected static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The statistics of a chunk of consecutive samples, together with the result of every session when the results
+     * are written to a file.
+     */
+    protected static class Chunk {
+
+        /**
+         * The statistics of the sessions.
+         */
+        protected final SessionStatistics statistics;
+
+        /**
+         * The index of the first sample of the chunk.
+         */
+        protected final int from;
+
+        /**
+         * The metrics of every session, kept only when the results are written.
+         */
+        protected final int[] durations, maxima, minima, finalStakes;
+
+        /**
+         * @param layout the statistics of the simulation, whose histograms the chunk keeps too
+         * @param from   the index of the first sample of the chunk
+         * @param size   the number of results to keep
+         */
+        protected Chunk(SessionStatistics layout, int from, int size) {
+            this.statistics = layout.emptyCopy();
+            this.from = from;
+            durations = new int[size];
+            maxima = new int[size];
+            minima = new int[size];
+            finalStakes = new int[size];
+        }
+
+        /**
+         * Adds the metrics of a session, keeping its result if asked to.
+         *
+         * @param session     the summary of the session
+         * @param keepResults whether to keep the result
+         */
+        protected void add(SessionResult session, boolean keepResults) {
+            if (keepResults) {
+                int i = (int) statistics.getCount();
+                durations[i] = session.duration;
+                maxima[i] = session.maximum;
+                minima[i] = session.minimum;
+                finalStakes[i] = session.finalStake;
+            }
+            statistics.add(session);
+        }
+
+        /**
+         * Writes the kept results, in sample order, with the seed of every sample.
+         *
+         * @param simulator the simulator owning the result writer
+         */
+        protected void writeResults(ParallelSimulator simulator) {
+            SessionResult session = new SessionResult();
+            for (int i = 0; i < durations.length; i++) {
+                session.duration = durations[i];
+                session.maximum = maxima[i];
+                session.minimum = minima[i];
+                session.finalStake = finalStakes[i];
+                simulator.writeResult(session, sampleSeed(simulator.seed, from + i));
+            }
+        }
+    }
+
+    /**
+     * A private Wheel, Table and Player, together with the random number generators that drive them.
+     */
+    protected static class Worker {
+
+        /**
+         * The random number generator of the Wheel.
+         */
+        protected final RandomSource wheelRng;
+
+        /**
+         * The random number generator of the Player, used only by random strategies.
+         */
+        protected final RandomSource playerRng;
+
+        /**
+         * The Table of the worker.
+         */
+        protected final Table table;
+
+        /**
+         * The sequential simulator running the sessions of this worker.
+         */
+        protected final Simulator simulator;
+
+        /**
+         * The master seed of the simulation.
+         */
+        protected long seed;
+
+        /**
+         * Builds the Wheel, Table, Player and Game of a worker.
+         *
+         * @param playerType       the betting strategy to simulate
+         * @param randomSourceType the type of the random number generators
+         */
+        protected Worker(PlayerType playerType, RandomSourceType randomSourceType) {
+            wheelRng = RandomSourceFactory.getRandomSource(randomSourceType, 0);
+            playerRng = RandomSourceFactory.getRandomSource(randomSourceType, 0);
+
+            Wheel wheel = new Wheel(wheelRng);
+            BinBuilder binBuilder = new BinBuilder();
+            binBuilder.buildBins(wheel);
+
+            table = new Table(wheel);
+            Player player = PlayerFactory.getPlayer(playerType, table, playerRng);
+
+            simulator = new Simulator(new Game(wheel, table), player);
+        }
+
+        /**
+         * Builds a worker whose Wheel shares a complete layout, at a Table with the given limits.
+         *
+         * @param playerType       the betting strategy to simulate
+         * @param randomSourceType the type of the random number generators
+         * @param layout           the wheel whose Bins the Wheel of the worker shares
+         * @param tableLimit       the limit of the Table
+         * @param tableMinimum     the minimum bet of the Table
+         */
+        protected Worker(PlayerType playerType, RandomSourceType randomSourceType, Wheel layout, int tableLimit,
+                         int tableMinimum) {
+            wheelRng = RandomSourceFactory.getRandomSource(randomSourceType, 0);
+            playerRng = RandomSourceFactory.getRandomSource(randomSourceType, 0);
+
+            Wheel wheel = new Wheel(layout, wheelRng);
+            table = new Table(wheel, tableLimit, tableMinimum);
+            Player player = PlayerFactory.getPlayer(playerType, table, playerRng);
+
+            simulator = new Simulator(new Game(wheel, table), player);
+        }
+
+        /**
+         * Reseeds the random number generators for the next sample.
+         *
+         * @param sampleSeed the seed of the sample
+         */
+        protected void reseed(long sampleSeed) {
+            wheelRng.setSeed(sampleSeed);
+            playerRng.setSeed(SplitMix64.mix(sampleSeed));
+        }
+
+        /**
+         * Runs a single sample with its own seed.
+         *
+         * @param index  the index of the sample
+         * @param result the result to fill in
+         * @return the summary of the session
+         * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
+         */
+        protected SessionResult run(int index, SessionResult result) throws InvalidBetException {
+            reseed(sampleSeed(seed, index));
+            return simulator.session(result);
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.RandomSourceType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParameterSweep simulates every point of a grid of configurations: every combination of player type, initial
+ * stake, session duration, table limit and table minimum, each for the same number of samples. All the points are
+ * scheduled on a single work-stealing pool, so a sweep of thousands of points runs in one JVM with every processor
+ * busy until the last point.
+ * <p>
+ * The Bins of the wheel are built once and shared, read-only, by the Wheels of every point. Like ParallelSimulator,
+ * every sample is seeded from the master seed and its index, so a point gives the same statistics whatever the
+ * pool; and since the index, not the point, picks the seed, every point sees the same spins, which makes neighbouring
+ * points directly comparable.
+ */
+public class ParameterSweep {
+
+    /**
+     * The betting strategies to simulate.
+     */
+    public PlayerType[] playerTypes = {PlayerType.PASSENGER57};
+
+    /**
+     * The initial stakes to simulate.
+     */
+    public int[] initialStakes = {Game.TABLE_MINIMUM * 100};
+
+    /**
+     * The session durations to simulate.
+     */
+    public int[] sessionDurations = {250};
+
+    /**
+     * The table limits to simulate.
+     */
+    public int[] tableLimits = {Game.TABLE_LIMIT};
+
+    /**
+     * The table minimums to simulate. At every point, the Player bets from the table minimum rather than the Game’s.
+     */
+    public int[] tableMinimums = {Game.TABLE_MINIMUM};
+
+    /**
+     * The number of sessions simulated at every point.
+     */
+    public int samples = 50;
+
+    /**
+     * The seed from which the seed of every sample is derived.
+     */
+    public long seed;
+
+    /**
+     * The type of the random number generators.
+     */
+    public RandomSourceType randomSourceType = RandomSourceType.JDK;
+
+    /**
+     * The wheel whose Bins are shared by every point.
+     */
+    protected final Wheel LAYOUT;
+
+    /**
+     * Creates a sweep with a master seed, simulating a single default point until ranges are given.
+     *
+     * @param seed the master seed of the sweep
+     */
+    public ParameterSweep(long seed) {
+        this.seed = seed;
+
+        LAYOUT = new Wheel();
+        BinBuilder binBuilder = new BinBuilder();
+        binBuilder.buildBins(LAYOUT);
+        // Build the index now, so that it is never built lazily by several threads at once
+        LAYOUT.getOutcomeIndex();
+    }
+
+    /**
+     * Lists the values from one value to another in equal steps, the upper value included if a step lands on it.
+     *
+     * @param from the first value
+     * @param to   the last value
+     * @param step the difference between two values, positive
+     * @return the values
+     */
+    public static int[] range(int from, int to, int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive");
+        }
+        if (to < from) {
+            return new int[0];
+        }
+        int[] values = new int[(int) (((long) to - from) / step + 1)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+
+    /**
+     * Lists every point of the grid, the table minimum varying fastest and the player type slowest.
+     *
+     * @return the points, not yet simulated
+     */
+    public List<Point> points() {
+        List<Point> points = new ArrayList<>();
+        for (PlayerType playerType : playerTypes) {
+            for (int initialStake : initialStakes) {
+                for (int sessionDuration : sessionDurations) {
+                    for (int tableLimit : tableLimits) {
+                        for (int tableMinimum : tableMinimums) {
+                            points.add(new Point(playerType, initialStake, sessionDuration, tableLimit,
+                                    tableMinimum));
+                        }
+                    }
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Simulates every point of the grid on the common pool.
+     *
+     * @return the simulated points, in the order of points()
+     */
+    public List<Point> run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Simulates every point of the grid on the given pool. Points are split recursively into halves, so idle threads
+     * steal large ranges of points rather than single points.
+     *
+     * @param pool the pool running the points
+     * @return the simulated points, in the order of points()
+     */
+    public List<Point> run(ForkJoinPool pool) {
+        List<Point> points = points();
+        pool.invoke(new Points(points, 0, points.size()));
+        return Collections.unmodifiableList(points);
+    }
+
+    /**
+     * Simulates the sessions of a single point. Sessions in which the Player places a bet breaking the table limits
+     * are cut short and counted as invalid, not added to the statistics.
+     *
+     * @param point the point to simulate
+     */
+    protected void simulate(Point point) {
+        ParallelSimulator.Worker worker = new ParallelSimulator.Worker(point.PLAYER_TYPE, randomSourceType, LAYOUT,
+                point.TABLE_LIMIT, point.TABLE_MINIMUM);
+        worker.seed = seed;
+        worker.simulator.initialStake = point.INITIAL_STAKE;
+        worker.simulator.sessionDuration = point.SESSION_DURATION;
+        // Players bet the table minimum, so that a higher minimum does not refuse every bet
+        worker.simulator.player.setBaseBet(point.TABLE_MINIMUM);
+
+        SessionResult result = new SessionResult();
+        for (int i = 0; i < samples; i++) {
+            try {
+                point.STATISTICS.add(worker.run(i, result));
+            } catch (InvalidBetException e) {
+                // The refused bets are still on the table
+                worker.table.clear();
+                point.invalidSessions++;
+            }
+        }
+    }
+
+    /**
+     * Writes the simulated points as CSV, one line per point after a header line.
+     *
+     * @param points the simulated points
+     * @param out    where to write the table
+     * @throws IOException if the table cannot be written
+     */
+    public static void writeCsv(List<Point> points, Appendable out) throws IOException {
+        out.append("playerType,initialStake,sessionDuration,tableLimit,tableMinimum,samples,invalidSessions,"
+                + "meanDuration,stdDuration,medianDuration,p99Duration,"
+                + "meanMaximum,stdMaximum,medianMaximum,p99Maximum,meanFinalStake\n");
+        for (Point point : points) {
+            SessionStatistics statistics = point.STATISTICS;
+            out.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%s,%s,%s,%s,%s,%s,%s,%s,%s\n",
+                    point.PLAYER_TYPE, point.INITIAL_STAKE, point.SESSION_DURATION, point.TABLE_LIMIT,
+                    point.TABLE_MINIMUM, statistics.getCount(), point.invalidSessions,
+                    statistics.DURATIONS.getMean(), statistics.DURATIONS.getStd(),
+                    statistics.DURATION_QUANTILES.getMedian(), statistics.DURATION_QUANTILES.getQuantile(0.99),
+                    statistics.MAXIMA.getMean(), statistics.MAXIMA.getStd(),
+                    statistics.MAXIMUM_QUANTILES.getMedian(), statistics.MAXIMUM_QUANTILES.getQuantile(0.99),
+                    statistics.FINAL_STAKES.getMean()));
+        }
+    }
+
+    /**
+     * A configuration of the grid, together with the statistics of its sessions once simulated.
+     */
+    public static class Point {
+
+        public final PlayerType PLAYER_TYPE;
+
+        public final int INITIAL_STAKE;
+
+        public final int SESSION_DURATION;
+
+        public final int TABLE_LIMIT;
+
+        public final int TABLE_MINIMUM;
+
+        /**
+         * The statistics of the valid sessions.
+         */
+        public final SessionStatistics STATISTICS = new SessionStatistics();
+
+        /**
+         * The number of sessions cut short by a bet breaking the table limits.
+         */
+        public int invalidSessions = 0;
+
+        /**
+         * @param playerType      the betting strategy
+         * @param initialStake    the initial stake of the Player
+         * @param sessionDuration the largest number of cycles of a session
+         * @param tableLimit      the limit of the Table
+         * @param tableMinimum    the minimum bet of the Table
+         */
+        public Point(PlayerType playerType, int initialStake, int sessionDuration, int tableLimit, int tableMinimum) {
+            this.PLAYER_TYPE = playerType;
+            this.INITIAL_STAKE = initialStake;
+            this.SESSION_DURATION = sessionDuration;
+            this.TABLE_LIMIT = tableLimit;
+            this.TABLE_MINIMUM = tableMinimum;
+        }
+    }
+
+    /**
+     * Simulates a range of points, splitting it in halves until a single point is left.
+     */
+    protected class Points extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        protected final List<Point> points;
+
+        protected final int from, to;
+
+        /**
+         * @param points all the points of the grid
+         * @param from   the index of the first point of the range, inclusive
+         * @param to     the index of the last point of the range, exclusive
+         */
+        protected Points(List<Point> points, int from, int to) {
+            this.points = points;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                simulate(points.get(from));
+            } else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Points(points, from, middle), new Points(points, middle, to));
+            }
+        }
+    }
+}
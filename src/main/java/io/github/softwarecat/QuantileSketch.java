@@ -0,0 +1,435 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * QuantileSketch estimates the quantiles of a stream of values, such as the median or the 99th percentile, without
+ * keeping the values. It follows DDSketch: values are counted in buckets whose bounds grow geometrically by a factor
+ * gamma = (1 + a) / (1 - a), so any quantile is estimated within a relative error a of a value of the stream.
+ * <p>
+ * A stream of integers below 2^31 needs about a thousand buckets at 1% accuracy, whatever its length; to bound the
+ * memory of any stream, the buckets of the smallest magnitudes are folded together once there are more than
+ * maxBuckets of them, which gives up accuracy on the extreme low quantiles first. Like RunningStatistics, two
+ * sketches of disjoint streams can be merged into the sketch of both streams.
+ */
+public class QuantileSketch {
+
+    /**
+     * The relative accuracy used by the default constructor: quantiles are known within 1%.
+     */
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    /**
+     * The number of buckets per sign used by the default constructor.
+     */
+    public static final int DEFAULT_MAX_BUCKETS = 2048;
+
+    /**
+     * Values closer to zero than this are counted as zero.
+     */
+    protected static final double MIN_INDEXABLE_VALUE = 1e-9;
+
+    /**
+     * The largest relative error of an estimated quantile.
+     */
+    public final double RELATIVE_ACCURACY;
+
+    /**
+     * The largest number of buckets kept for positive values, and for negative values.
+     */
+    public final int MAX_BUCKETS;
+
+    /**
+     * The natural logarithm of gamma, the ratio between the bounds of a bucket.
+     */
+    protected final double LOG_GAMMA;
+
+    /**
+     * The counts of positive values, and of the magnitudes of negative values.
+     */
+    protected final Store positive, negative;
+
+    /**
+     * The number of values counted as zero.
+     */
+    protected long zeroCount = 0;
+
+    /**
+     * The number of values seen.
+     */
+    protected long count = 0;
+
+    /**
+     * The smallest value seen.
+     */
+    protected double min = Double.POSITIVE_INFINITY;
+
+    /**
+     * The largest value seen.
+     */
+    protected double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates a sketch with 1% relative accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BUCKETS);
+    }
+
+    /**
+     * Creates a sketch with the given relative accuracy.
+     *
+     * @param relativeAccuracy the largest relative error of an estimated quantile, between zero and one
+     * @param maxBuckets       the largest number of buckets kept for each sign of value
+     */
+    public QuantileSketch(double relativeAccuracy, int maxBuckets) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("relativeAccuracy must be between 0 and 1");
+        }
+        if (maxBuckets < 1) {
+            throw new IllegalArgumentException("maxBuckets must be positive");
+        }
+        this.RELATIVE_ACCURACY = relativeAccuracy;
+        this.MAX_BUCKETS = maxBuckets;
+        this.LOG_GAMMA = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+        positive = new Store(maxBuckets);
+        negative = new Store(maxBuckets);
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        if (value >= MIN_INDEXABLE_VALUE) {
+            positive.add(key(value), 1);
+        } else if (value <= -MIN_INDEXABLE_VALUE) {
+            negative.add(key(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Merges the sketch of another stream of values into this sketch.
+     *
+     * @param other the sketch to merge into this one
+     * @throws IllegalArgumentException if the other sketch has a different relative accuracy
+     */
+    public void merge(QuantileSketch other) {
+        if (other.LOG_GAMMA != LOG_GAMMA) {
+            throw new IllegalArgumentException("Cannot merge sketches of different relative accuracy");
+        }
+        if (other.count == 0) {
+            return;
+        }
+
+        positive.merge(other.positive);
+        negative.merge(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets all the values seen so far.
+     */
+    public void reset() {
+        positive.reset();
+        negative.reset();
+        zeroCount = 0;
+        count = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Writes the sketch, so that it can be read back exactly into a sketch of the same accuracy.
+     *
+     * @param out where to write the sketch
+     * @throws IOException if the sketch cannot be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeDouble(RELATIVE_ACCURACY);
+        out.writeLong(zeroCount);
+        out.writeLong(count);
+        out.writeDouble(min);
+        out.writeDouble(max);
+        positive.write(out);
+        negative.write(out);
+    }
+
+    /**
+     * Replaces this sketch with one written by write().
+     *
+     * @param in where to read the sketch
+     * @throws IOException if the sketch cannot be read, or was written with another accuracy
+     */
+    public void read(DataInput in) throws IOException {
+        if (in.readDouble() != RELATIVE_ACCURACY) {
+            throw new IOException("Sketch was written with another relative accuracy");
+        }
+        zeroCount = in.readLong();
+        count = in.readLong();
+        min = in.readDouble();
+        max = in.readDouble();
+        positive.read(in);
+        negative.read(in);
+    }
+
+    /**
+     * @return the number of values seen
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Estimates a quantile of the values seen. The estimate is within the relative accuracy of the value of the given
+     * rank, the lower of the two neighbouring values when the rank falls between them.
+     *
+     * @param quantile the quantile, between zero and one; 0.5 is the median
+     * @return the estimated quantile, or NaN if no value has been seen
+     */
+    public double getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) (quantile * (count - 1));
+        double estimate;
+        if (rank < negative.total) {
+            // Negative values in increasing order are magnitudes in decreasing order
+            estimate = -value(negative.keyAtRank(negative.total - 1 - rank));
+        } else if (rank < negative.total + zeroCount) {
+            estimate = 0;
+        } else {
+            estimate = value(positive.keyAtRank(rank - negative.total - zeroCount));
+        }
+        return Math.max(min, Math.min(max, estimate));
+    }
+
+    /**
+     * @return the estimated median of the values seen
+     */
+    public double getMedian() {
+        return getQuantile(0.5);
+    }
+
+    /**
+     * @param value a positive value
+     * @return the key of the bucket counting the value
+     */
+    protected int key(double value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    /**
+     * @param key the key of a bucket
+     * @return the value within the relative accuracy of every value of the bucket
+     */
+    protected double value(int key) {
+        // The bucket holds (gamma^(key-1), gamma^key]; this point is within the relative accuracy of both bounds
+        return 2 * Math.exp(key * LOG_GAMMA) / (1 + Math.exp(LOG_GAMMA));
+    }
+
+    /**
+     * The counts of a contiguous range of bucket keys, growing as values arrive. When the range would exceed the
+     * largest number of buckets, the lowest keys are folded into the lowest key kept.
+     */
+    protected static class Store {
+
+        /**
+         * The largest number of buckets.
+         */
+        protected final int MAX_BUCKETS;
+
+        /**
+         * The count of every bucket, counts[i] being the count of key offset + i.
+         */
+        protected long[] counts = new long[0];
+
+        /**
+         * The key of the first bucket.
+         */
+        protected int offset = 0;
+
+        /**
+         * The number of values counted.
+         */
+        protected long total = 0;
+
+        /**
+         * @param maxBuckets the largest number of buckets
+         */
+        protected Store(int maxBuckets) {
+            this.MAX_BUCKETS = maxBuckets;
+        }
+
+        /**
+         * Adds to the count of a bucket.
+         *
+         * @param key   the key of the bucket
+         * @param value the number of values to add
+         */
+        protected void add(int key, long value) {
+            if (total == 0 || key < offset || key >= offset + counts.length) {
+                extend(key);
+            }
+            // A key below the range kept was folded into its lowest bucket
+            counts[Math.max(key, offset) - offset] += value;
+            total += value;
+        }
+
+        /**
+         * Adds the counts of another store to these counts.
+         *
+         * @param other the store to merge into this one
+         */
+        protected void merge(Store other) {
+            if (other.total == 0) {
+                return;
+            }
+            // Extend to the highest key first, so that folding never drops keys merged afterwards
+            for (int i = other.counts.length - 1; i >= 0; i--) {
+                if (other.counts[i] != 0) {
+                    add(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        /**
+         * Grows the range of keys to include a key, keeping at most MAX_BUCKETS of the highest keys.
+         *
+         * @param key the key to include
+         */
+        protected void extend(int key) {
+            if (total == 0) {
+                if (counts.length == 0) {
+                    counts = new long[Math.min(MAX_BUCKETS, 64)];
+                }
+                // Centre the first key, since later values may be smaller or larger
+                Arrays.fill(counts, 0);
+                offset = key - counts.length / 2;
+                return;
+            }
+
+            int high = Math.max(offset + counts.length - 1, key);
+            int low = Math.max(Math.min(offset, key), high - MAX_BUCKETS + 1);
+            if (low >= offset && high < offset + counts.length) {
+                // The key is below the range kept, and is folded into its lowest bucket
+                return;
+            }
+
+            // Grow with some slack on the side of the new key, so that a widening range is not copied on every key
+            int length = Math.min(MAX_BUCKETS, Math.max(high - low + 1, counts.length + counts.length / 2));
+            if (key < offset) {
+                low = high - length + 1;
+            }
+            long[] grown = new long[length];
+            for (int i = 0; i < counts.length; i++) {
+                // Keys below the new range are folded into its lowest bucket
+                grown[Math.max(offset + i, low) - low] += counts[i];
+            }
+            counts = grown;
+            offset = low;
+        }
+
+        /**
+         * Finds the bucket holding the value of the given rank, counting from the lowest key.
+         *
+         * @param rank the rank of the value, from zero
+         * @return the key of the bucket
+         */
+        protected int keyAtRank(long rank) {
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank) {
+                    return offset + i;
+                }
+            }
+            return offset + counts.length - 1;
+        }
+
+        /**
+         * Writes the range of keys and their counts.
+         *
+         * @param out where to write the counts
+         * @throws IOException if the counts cannot be written
+         */
+        protected void write(DataOutput out) throws IOException {
+            out.writeInt(offset);
+            out.writeInt(counts.length);
+            for (long count : counts) {
+                out.writeLong(count);
+            }
+        }
+
+        /**
+         * Replaces the counts with those written by write().
+         *
+         * @param in where to read the counts
+         * @throws IOException if the counts cannot be read
+         */
+        protected void read(DataInput in) throws IOException {
+            offset = in.readInt();
+            int length = in.readInt();
+            if (length < 0 || length > MAX_BUCKETS) {
+                throw new IOException("Invalid number of buckets " + length);
+            }
+            counts = new long[length];
+            total = 0;
+            for (int i = 0; i < length; i++) {
+                counts[i] = in.readLong();
+                total += counts[i];
+            }
+        }
+
+        /**
+         * Forgets all the counts.
+         */
+        protected void reset() {
+            Arrays.fill(counts, 0);
+            offset = 0;
+            total = 0;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ResultCache keeps the statistics of ParallelSimulator gathers on disk, so that gathering an identical configuration
+ * again, in this JVM or another, reads the statistics instead of running the sessions.
+ * <p>
+ * An entry is addressed by the SHA-256 hash of everything that determines the statistics: the engine version, the
+ * player type, the type of random number generator, the master seed, the initial stake, the session duration and the
+ * histograms kept. The number of samples is not part of the address: since every sample is seeded by its index, the
+ * statistics of more samples than cached are the cached statistics extended with the missing samples only. Extensions
+ * start from an entry covering a whole number of chunks, so the statistics are bit-identical to a gather without the
+ * cache.
+ * <p>
+ * Entries are written to a temporary file first and then renamed, so that concurrent jobs sharing a cache directory
+ * never read a partial entry. Unreadable entries are ignored and written again.
+ */
+public class ResultCache {
+
+    /**
+     * The version of the simulation engine. It must be incremented whenever a change gives a seed different
+     * statistics, so that the entries of older versions are no longer found.
+     */
+    public static final int ENGINE_VERSION = 1;
+
+    /**
+     * The magic number at the start of every entry: "STAT" in ASCII.
+     */
+    protected static final int MAGIC = 0x53544154;
+
+    /**
+     * The extension of the entry files.
+     */
+    protected static final String EXTENSION = ".stats";
+
+    /**
+     * The directory of the cache.
+     */
+    public final Path DIRECTORY;
+
+    /**
+     * The number of sessions the cache had to run so far, counted from every thread sharing the cache.
+     */
+    protected final AtomicLong computedSamples = new AtomicLong();
+
+    /**
+     * @param directory the directory of the cache, created if it does not exist
+     */
+    public ResultCache(Path directory) {
+        this.DIRECTORY = directory;
+    }
+
+    /**
+     * Computes the address of the entries of a simulator's configuration.
+     *
+     * @param simulator the simulator
+     * @return the SHA-256 hash of the configuration, in hexadecimal
+     */
+    public static String key(ParallelSimulator simulator) {
+        SessionStatistics statistics = simulator.getStatistics();
+        String configuration = "engine=" + ENGINE_VERSION
+                + ";playerType=" + simulator.PLAYER_TYPE
+                + ";randomSourceType=" + simulator.RANDOM_SOURCE_TYPE
+                + ";seed=" + simulator.seed
+                + ";initialStake=" + simulator.initialStake
+                + ";sessionDuration=" + simulator.sessionDuration
+                + ";chunkSize=" + ParallelSimulator.CHUNK_SIZE
+                + ";quantileAccuracy=" + statistics.DURATION_QUANTILES.RELATIVE_ACCURACY
+                + ";durationHistogram=" + statistics.DURATION_HISTOGRAM
+                + ";maximumHistogram=" + statistics.MAXIMUM_HISTOGRAM
+                + ";finalStakeHistogram=" + statistics.FINAL_STAKE_HISTOGRAM;
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(configuration.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(2 * hash.length);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Gathers the statistics of the simulator's samples, reading them from the cache where possible and running only
+     * the sessions missing from it. The statistics are stored in the cache before they are returned.
+     *
+     * @param simulator the simulator, whose own statistics are left untouched
+     * @return the statistics of the first samples sessions of the simulator
+     * @throws InvalidBetException  if the Player attempts to place a bet which exceeds the table’s limit
+     * @throws UncheckedIOException if the cache cannot be written
+     */
+    public SessionStatistics gather(ParallelSimulator simulator) throws InvalidBetException {
+        Path directory = DIRECTORY.resolve(key(simulator));
+        int samples = simulator.samples;
+
+        SessionStatistics statistics = simulator.getStatistics().emptyCopy();
+        if (load(directory, samples, statistics)) {
+            return statistics;
+        }
+
+        // Extend the longest entry ending on a chunk boundary, first to the last boundary, then to the end
+        int from = longestPrefix(directory, samples);
+        if (from > 0 && !load(directory, from, statistics)) {
+            from = 0;
+        }
+        int boundary = samples - samples % ParallelSimulator.CHUNK_SIZE;
+        if (boundary > from) {
+            simulator.gather(statistics, from, boundary, null, 0, 0);
+            computedSamples.addAndGet(boundary - from);
+            store(directory, boundary, statistics);
+            from = boundary;
+        }
+        if (samples > from) {
+            simulator.gather(statistics, from, samples, null, 0, 0);
+            computedSamples.addAndGet(samples - from);
+            store(directory, samples, statistics);
+        }
+        return statistics;
+    }
+
+    /**
+     * @return the number of sessions the cache had to run so far, rather than read
+     */
+    public long getComputedSamples() {
+        return computedSamples.get();
+    }
+
+    /**
+     * Finds the longest entry of a configuration covering a whole number of chunks and no more than the given
+     * number of samples.
+     *
+     * @param directory the directory of the entries of the configuration
+     * @param samples   the largest number of samples
+     * @return the number of samples of the entry, or zero if there is none
+     */
+    protected int longestPrefix(Path directory, int samples) {
+        int longest = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                try {
+                    int count = Integer.parseInt(name.substring(0, name.length() - EXTENSION.length()));
+                    if (count % ParallelSimulator.CHUNK_SIZE == 0 && count <= samples) {
+                        longest = Math.max(longest, count);
+                    }
+                } catch (NumberFormatException e) {
+                    // Not an entry
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing cached for this configuration yet
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return longest;
+    }
+
+    /**
+     * Reads an entry into the given statistics.
+     *
+     * @param directory  the directory of the entries of the configuration
+     * @param samples    the number of samples of the entry
+     * @param statistics the statistics to replace with those of the entry, reset if there is none
+     * @return true if the entry was read, false if there is no readable entry
+     */
+    protected boolean load(Path directory, int samples, SessionStatistics statistics) {
+        Path path = directory.resolve(samples + EXTENSION);
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() == MAGIC && in.readInt() == ENGINE_VERSION && in.readInt() == samples) {
+                statistics.read(in);
+                if (statistics.getCount() == samples) {
+                    return true;
+                }
+            }
+        } catch (IOException e) {
+            // A damaged entry is a miss; it is replaced when the statistics are stored
+        }
+        statistics.reset();
+        return false;
+    }
+
+    /**
+     * Writes an entry atomically.
+     *
+     * @param directory  the directory of the entries of the configuration
+     * @param samples    the number of samples of the entry
+     * @param statistics the statistics of the samples
+     * @throws UncheckedIOException if the entry cannot be written
+     */
+    protected void store(Path directory, int samples, SessionStatistics statistics) {
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, samples + "-", ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(ENGINE_VERSION);
+                    out.writeInt(samples);
+                    statistics.write(out);
+                }
+                Files.move(temporary, directory.resolve(samples + EXTENSION), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
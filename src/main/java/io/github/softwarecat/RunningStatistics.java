@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * RunningStatistics summarizes a stream of values in constant memory. It keeps the count, mean, sum of squared
+ * deviations from the mean (M2), minimum and maximum, updated one value at a time with Welford’s algorithm, which
+ * stays numerically stable where the naive sum of squares does not.
+ * <p>
+ * Two summaries of disjoint streams can be merged into the summary of both streams, so that threads and runs can
+ * accumulate separately and be combined afterwards.
+ */
+public class RunningStatistics {
+
+    /**
+     * The number of values seen.
+     */
+    protected long count = 0;
+
+    /**
+     * The mean of the values seen.
+     */
+    protected double mean = 0;
+
+    /**
+     * The sum of squared deviations of the values seen from their mean.
+     */
+    protected double m2 = 0;
+
+    /**
+     * The smallest value seen.
+     */
+    protected double min = Double.POSITIVE_INFINITY;
+
+    /**
+     * The largest value seen.
+     */
+    protected double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Adds a value to the summary.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Merges the summary of another stream of values into this summary, using the pairwise update of Chan et al.
+     *
+     * @param other the summary to merge into this one
+     */
+    public void merge(RunningStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets all the values seen so far.
+     */
+    public void reset() {
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Writes the summary, so that it can be read back exactly.
+     *
+     * @param out where to write the summary
+     * @throws IOException if the summary cannot be written
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+        out.writeDouble(min);
+        out.writeDouble(max);
+    }
+
+    /**
+     * Replaces this summary with one written by write().
+     *
+     * @param in where to read the summary
+     * @throws IOException if the summary cannot be read
+     */
+    public void read(DataInput in) throws IOException {
+        count = in.readLong();
+        mean = in.readDouble();
+        m2 = in.readDouble();
+        min = in.readDouble();
+        max = in.readDouble();
+    }
+
+    /**
+     * @return the number of values seen
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the mean of the values seen
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Computes the sample variance, dividing by one less than the count like IntegerStatistics does.
+     *
+     * @return the sample variance of the values seen
+     */
+    public double getVariance() {
+        return m2 / (count - 1);
+    }
+
+    /**
+     * @return the sample standard deviation of the values seen
+     */
+    public double getStd() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * @return the standard error of the mean of the values seen
+     */
+    public double getStandardError() {
+        return getStd() / Math.sqrt(count);
+    }
+
+    /**
+     * Computes the half-width of a normal-approximation confidence interval for the mean: the mean lies within this
+     * distance of getMean() with the confidence given by z, e.g. 1.96 for 95%.
+     *
+     * @param z the number of standard errors
+     * @return the half-width of the confidence interval
+     */
+    public double getConfidenceHalfWidth(double z) {
+        return z * getStandardError();
+    }
+
+    /**
+     * @return the smallest value seen
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * @return the largest value seen
+     */
+    public double getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, mean=%f, std=%f, min=%s, max=%s", count, getMean(), getStd(), min, max);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+/**
+ * SessionMetric names one of the metrics accumulated by SessionStatistics, so that a caller can choose which one a
+ * precision target applies to.
+ */
+public enum SessionMetric {
+    DURATION,
+    MAXIMUM,
+    FINAL_STAKE;
+
+    /**
+     * Picks the statistics of this metric out of the statistics of many sessions.
+     *
+     * @param statistics the statistics of the sessions
+     * @return the running statistics of this metric
+     */
+    public RunningStatistics of(SessionStatistics statistics) {
+        switch (this) {
+            case DURATION:
+                return statistics.DURATIONS;
+            case MAXIMUM:
+                return statistics.MAXIMA;
+            default:
+                return statistics.FINAL_STAKES;
+        }
+    }
+
+    /**
+     * Picks the quantile sketch of this metric out of the statistics of many sessions.
+     *
+     * @param statistics the statistics of the sessions
+     * @return the quantile sketch of this metric
+     */
+    public QuantileSketch quantiles(SessionStatistics statistics) {
+        switch (this) {
+            case DURATION:
+                return statistics.DURATION_QUANTILES;
+            case MAXIMUM:
+                return statistics.MAXIMUM_QUANTILES;
+            default:
+                return statistics.FINAL_STAKE_QUANTILES;
+        }
+    }
+}
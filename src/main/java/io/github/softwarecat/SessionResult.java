@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+/**
+ * SessionResult summarizes a single session of play without keeping the stake after every cycle. It is filled in by
+ * Simulator.session(SessionResult) and can be reused from one session to the next.
+ */
+public class SessionResult {
+
+    /**
+     * The number of cycles the Player played.
+     */
+    public int duration;
+
+    /**
+     * The largest stake of the Player after any cycle, or the initial stake if the Player did not play.
+     */
+    public int maximum;
+
+    /**
+     * The smallest stake of the Player after any cycle, or the initial stake if the Player did not play.
+     */
+    public int minimum;
+
+    /**
+     * The stake of the Player when the session ended.
+     */
+    public int finalStake;
+
+    /**
+     * Easy-to-read representation of this result.
+     *
+     * @return string of the form ‘duration=..., maximum=..., minimum=..., finalStake=...’
+     */
+    @Override
+    public String toString() {
+        return String.format("duration=%d, maximum=%d, minimum=%d, finalStake=%d", duration, maximum, minimum,
+                finalStake);
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SessionResultReader memory-maps a file written by SessionResultWriter. Single rows can be read by their index, and
+ * every column of a block is available as a buffer for fast scans.
+ */
+public class SessionResultReader {
+
+    /**
+     * The mapped blocks of the file.
+     */
+    protected final MappedByteBuffer[] blocks;
+
+    /**
+     * The number of rows in every block.
+     */
+    protected final int[] blockRows;
+
+    /**
+     * The index of the first row of every block, and the total number of rows at the end.
+     */
+    protected final long[] firstRows;
+
+    protected SessionResultReader(MappedByteBuffer[] blocks, int[] blockRows) {
+        this.blocks = blocks;
+        this.blockRows = blockRows;
+        firstRows = new long[blocks.length + 1];
+        for (int i = 0; i < blocks.length; i++) {
+            firstRows[i + 1] = firstRows[i] + blockRows[i];
+        }
+    }
+
+    /**
+     * Maps a result file.
+     *
+     * @param path the file to read
+     * @return the reader
+     * @throws IOException if the file cannot be read or is not a result file
+     */
+    public static SessionResultReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(SessionResultWriter.HEADER_BYTES)
+                    .order(SessionResultWriter.ORDER);
+            readFully(channel, header, 0, path);
+            if (header.getInt() != SessionResultWriter.MAGIC) {
+                throw new IOException(path + " is not a session result file");
+            }
+            int version = header.getInt();
+            if (version != SessionResultWriter.VERSION || header.getInt() != SessionResultWriter.COLUMNS) {
+                throw new IOException(path + " has unsupported session result version " + version);
+            }
+
+            // The mappings stay valid after the channel is closed
+            List<MappedByteBuffer> blocks = new ArrayList<>();
+            List<Integer> blockRows = new ArrayList<>();
+            ByteBuffer blockHeader = ByteBuffer.allocate(SessionResultWriter.BLOCK_HEADER_BYTES)
+                    .order(SessionResultWriter.ORDER);
+            long size = channel.size();
+            for (long position = SessionResultWriter.HEADER_BYTES; position < size; ) {
+                blockHeader.clear();
+                readFully(channel, blockHeader, position, path);
+                int rows = blockHeader.getInt();
+                long length = SessionResultWriter.BLOCK_HEADER_BYTES + (long) rows * (Long.BYTES + 4 * Integer.BYTES);
+                if (rows <= 0 || position + length > size) {
+                    throw new IOException(path + " is truncated");
+                }
+
+                MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                block.order(SessionResultWriter.ORDER);
+                blocks.add(block);
+                blockRows.add(rows);
+                position += length;
+            }
+
+            return new SessionResultReader(blocks.toArray(new MappedByteBuffer[0]),
+                    blockRows.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position, Path path)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException(path + " is truncated");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * @return the number of rows in the file
+     */
+    public long getRowCount() {
+        return firstRows[blocks.length];
+    }
+
+    /**
+     * @return the number of blocks in the file
+     */
+    public int getBlockCount() {
+        return blocks.length;
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the number of rows in the block
+     */
+    public int getBlockRows(int block) {
+        return blockRows[block];
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the seeds of the sessions in the block
+     */
+    public LongBuffer getSeeds(int block) {
+        return column(block, 0, Long.BYTES).asLongBuffer();
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the durations of the sessions in the block
+     */
+    public IntBuffer getDurations(int block) {
+        return intColumn(block, 0);
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the maximum stakes of the sessions in the block
+     */
+    public IntBuffer getMaxima(int block) {
+        return intColumn(block, 1);
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the minimum stakes of the sessions in the block
+     */
+    public IntBuffer getMinima(int block) {
+        return intColumn(block, 2);
+    }
+
+    /**
+     * @param block the index of a block
+     * @return the final stakes of the sessions in the block
+     */
+    public IntBuffer getFinalStakes(int block) {
+        return intColumn(block, 3);
+    }
+
+    private IntBuffer intColumn(int block, int column) {
+        return column(block, Long.BYTES + column * Integer.BYTES, Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Slices a column out of a block.
+     *
+     * @param block       the index of the block
+     * @param offsetWidth the total width of the columns before this one, in bytes per row
+     * @param width       the width of the column, in bytes per row
+     * @return a read-only view of the column
+     */
+    private ByteBuffer column(int block, int offsetWidth, int width) {
+        int rows = blockRows[block];
+        ByteBuffer column = blocks[block].duplicate();
+        column.position(SessionResultWriter.BLOCK_HEADER_BYTES + offsetWidth * rows);
+        column.limit(column.position() + width * rows);
+        return column.slice().asReadOnlyBuffer().order(SessionResultWriter.ORDER);
+    }
+
+    /**
+     * Reads a single row.
+     *
+     * @param row    the index of the row
+     * @param result the result to fill in
+     * @return the result, filled in
+     */
+    public SessionResult read(long row, SessionResult result) {
+        int block = blockOf(row);
+        int rows = blockRows[block];
+        int index = (int) (row - firstRows[block]);
+        ByteBuffer buffer = blocks[block];
+        int ints = SessionResultWriter.BLOCK_HEADER_BYTES + Long.BYTES * rows + Integer.BYTES * index;
+
+        result.duration = buffer.getInt(ints);
+        result.maximum = buffer.getInt(ints + Integer.BYTES * rows);
+        result.minimum = buffer.getInt(ints + 2 * Integer.BYTES * rows);
+        result.finalStake = buffer.getInt(ints + 3 * Integer.BYTES * rows);
+        return result;
+    }
+
+    /**
+     * Reads the seed of a single row.
+     *
+     * @param row the index of the row
+     * @return the seed of the session
+     */
+    public long getSeed(long row) {
+        int block = blockOf(row);
+        int index = (int) (row - firstRows[block]);
+        return blocks[block].getLong(SessionResultWriter.BLOCK_HEADER_BYTES + Long.BYTES * index);
+    }
+
+    private int blockOf(long row) {
+        if (row < 0 || row >= getRowCount()) {
+            throw new IndexOutOfBoundsException("Row " + row + " is not in a file of " + getRowCount());
+        }
+        int block = Arrays.binarySearch(firstRows, row);
+        return block >= 0 ? block : -block - 2;
+    }
+
+    /**
+     * Scans all the rows, accumulating their metrics.
+     *
+     * @return the statistics of all the sessions in the file
+     */
+    public SessionStatistics getStatistics() {
+        return getStatistics(new SessionStatistics());
+    }
+
+    /**
+     * Scans all the rows, accumulating their metrics into statistics which may keep histograms.
+     *
+     * @param statistics the statistics to add the sessions to
+     * @return the statistics, with all the sessions in the file added
+     */
+    public SessionStatistics getStatistics(SessionStatistics statistics) {
+        SessionResult result = new SessionResult();
+        for (int block = 0; block < blocks.length; block++) {
+            IntBuffer durations = getDurations(block);
+            IntBuffer maxima = getMaxima(block);
+            IntBuffer minima = getMinima(block);
+            IntBuffer finalStakes = getFinalStakes(block);
+            for (int i = 0; i < blockRows[block]; i++) {
+                result.duration = durations.get(i);
+                result.maximum = maxima.get(i);
+                result.minimum = minima.get(i);
+                result.finalStake = finalStakes.get(i);
+                statistics.add(result);
+            }
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SessionResultWriter streams the result of every session into a compact columnar binary file, for analysis after
+ * the simulation. Rows are gathered into blocks of up to BLOCK_ROWS sessions; each column of a block is filled in its
+ * own direct buffer, and a full block is written with a single gathering write, so writing does not allocate.
+ * <p>
+ * The file starts with a 16-byte header: the magic number, the format version, the number of columns and a reserved
+ * word. Each block then holds its number of rows and a reserved word, followed by its columns in this order: the
+ * seeds as longs, then the durations, maxima, minima and final stakes as ints. All values are little-endian.
+ * SessionResultReader reads the file back.
+ */
+public class SessionResultWriter implements Closeable {
+
+    /**
+     * The first four bytes of a result file: ‘SRES’.
+     */
+    public static final int MAGIC = 0x53524553;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of columns of every row.
+     */
+    public static final int COLUMNS = 5;
+
+    /**
+     * The largest number of rows in a block.
+     */
+    public static final int BLOCK_ROWS = 1 << 16;
+
+    /**
+     * The size of the file header, and of the header of every block, in bytes.
+     */
+    protected static final int HEADER_BYTES = 16, BLOCK_HEADER_BYTES = 8;
+
+    /**
+     * The byte order of all values.
+     */
+    protected static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * The file being written.
+     */
+    protected final FileChannel channel;
+
+    /**
+     * The header of the current block.
+     */
+    protected final ByteBuffer blockHeader = ByteBuffer.allocateDirect(BLOCK_HEADER_BYTES).order(ORDER);
+
+    /**
+     * The columns of the current block.
+     */
+    protected final ByteBuffer seeds, durations, maxima, minima, finalStakes;
+
+    /**
+     * The buffers of a block, in the order they are written.
+     */
+    protected final ByteBuffer[] block;
+
+    /**
+     * The number of rows in the current block.
+     */
+    protected int rows = 0;
+
+    /**
+     * The number of rows written so far, including the current block.
+     */
+    protected long rowCount = 0;
+
+    /**
+     * Creates a result file, replacing it if it exists.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public SessionResultWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        seeds = ByteBuffer.allocateDirect(BLOCK_ROWS * Long.BYTES).order(ORDER);
+        durations = ByteBuffer.allocateDirect(BLOCK_ROWS * Integer.BYTES).order(ORDER);
+        maxima = ByteBuffer.allocateDirect(BLOCK_ROWS * Integer.BYTES).order(ORDER);
+        minima = ByteBuffer.allocateDirect(BLOCK_ROWS * Integer.BYTES).order(ORDER);
+        finalStakes = ByteBuffer.allocateDirect(BLOCK_ROWS * Integer.BYTES).order(ORDER);
+        block = new ByteBuffer[]{blockHeader, seeds, durations, maxima, minima, finalStakes};
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ORDER);
+        header.putInt(MAGIC).putInt(VERSION).putInt(COLUMNS).putInt(0).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * Adds the result of a session, writing the current block if it is full.
+     *
+     * @param result the result of the session
+     * @param seed   the seed of the session, or its sample index if sessions are not seeded individually
+     * @throws IOException if the file cannot be written
+     */
+    public void write(SessionResult result, long seed) throws IOException {
+        seeds.putLong(seed);
+        durations.putInt(result.duration);
+        maxima.putInt(result.maximum);
+        minima.putInt(result.minimum);
+        finalStakes.putInt(result.finalStake);
+        rowCount++;
+
+        if (++rows == BLOCK_ROWS) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the rows of the current block, if any, as a block of their own.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void flush() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+
+        blockHeader.clear();
+        blockHeader.putInt(rows).putInt(0);
+        for (ByteBuffer buffer : block) {
+            buffer.flip();
+        }
+
+        long remaining = BLOCK_HEADER_BYTES + (long) rows * (Long.BYTES + 4 * Integer.BYTES);
+        while (remaining > 0) {
+            remaining -= channel.write(block);
+        }
+
+        for (ByteBuffer buffer : block) {
+            buffer.clear();
+        }
+        rows = 0;
+    }
+
+    /**
+     * @return the number of rows written so far
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the last block and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
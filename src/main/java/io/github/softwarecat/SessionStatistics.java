@@ -0,0 +1,228 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * SessionStatistics accumulates the metrics of many sessions of play: how long the Player remained in the game, the
+ * maximum stake they reached and the stake they left with. Like RunningStatistics, it uses constant memory and can be merged.
+ * Besides the moments of every metric, a QuantileSketch of every metric estimates its median and other quantiles.
+ * Optionally, a Histogram of every metric keeps the shape of its distribution.
+ */
+public class SessionStatistics {
+
+    /**
+     * The lengths of time the Player remained in the game.
+     */
+    public final RunningStatistics DURATIONS = new RunningStatistics();
+
+    /**
+     * The maximum stakes of the Player.
+     */
+    public final RunningStatistics MAXIMA = new RunningStatistics();
+
+    /**
+     * The final stakes of the Player.
+     */
+    public final RunningStatistics FINAL_STAKES = new RunningStatistics();
+
+    /**
+     * The quantiles of the lengths of time the Player remained in the game.
+     */
+    public final QuantileSketch DURATION_QUANTILES = new QuantileSketch();
+
+    /**
+     * The quantiles of the maximum stakes of the Player.
+     */
+    public final QuantileSketch MAXIMUM_QUANTILES = new QuantileSketch();
+
+    /**
+     * The quantiles of the final stakes of the Player.
+     */
+    public final QuantileSketch FINAL_STAKE_QUANTILES = new QuantileSketch();
+
+    /**
+     * The histograms of the durations, maximum stakes and final stakes, or null for those which are not kept.
+     */
+    public final Histogram DURATION_HISTOGRAM, MAXIMUM_HISTOGRAM, FINAL_STAKE_HISTOGRAM;
+
+    /**
+     * Creates statistics which keep no histograms.
+     */
+    public SessionStatistics() {
+        this(null, null, null);
+    }
+
+    /**
+     * Creates statistics which count every metric in a histogram.
+     *
+     * @param durations   the histogram of the durations, or null not to keep one
+     * @param maxima      the histogram of the maximum stakes, or null not to keep one
+     * @param finalStakes the histogram of the final stakes, or null not to keep one
+     */
+    public SessionStatistics(Histogram durations, Histogram maxima, Histogram finalStakes) {
+        this.DURATION_HISTOGRAM = durations;
+        this.MAXIMUM_HISTOGRAM = maxima;
+        this.FINAL_STAKE_HISTOGRAM = finalStakes;
+    }
+
+    /**
+     * @return empty statistics keeping histograms with the same buckets as these
+     */
+    public SessionStatistics emptyCopy() {
+        return new SessionStatistics(emptyCopy(DURATION_HISTOGRAM), emptyCopy(MAXIMUM_HISTOGRAM),
+                emptyCopy(FINAL_STAKE_HISTOGRAM));
+    }
+
+    private static Histogram emptyCopy(Histogram histogram) {
+        return histogram == null ? null : histogram.emptyCopy();
+    }
+
+    /**
+     * Adds the metrics of a session.
+     *
+     * @param result the summary of the session
+     */
+    public void add(SessionResult result) {
+        DURATIONS.add(result.duration);
+        MAXIMA.add(result.maximum);
+        FINAL_STAKES.add(result.finalStake);
+
+        DURATION_QUANTILES.add(result.duration);
+        MAXIMUM_QUANTILES.add(result.maximum);
+        FINAL_STAKE_QUANTILES.add(result.finalStake);
+
+        if (DURATION_HISTOGRAM != null) {
+            DURATION_HISTOGRAM.add(result.duration);
+        }
+        if (MAXIMUM_HISTOGRAM != null) {
+            MAXIMUM_HISTOGRAM.add(result.maximum);
+        }
+        if (FINAL_STAKE_HISTOGRAM != null) {
+            FINAL_STAKE_HISTOGRAM.add(result.finalStake);
+        }
+    }
+
+    /**
+     * Merges the statistics of other sessions into these statistics. A histogram is merged only when both statistics
+     * keep it.
+     *
+     * @param other the statistics to merge into these
+     */
+    public void merge(SessionStatistics other) {
+        DURATIONS.merge(other.DURATIONS);
+        MAXIMA.merge(other.MAXIMA);
+        FINAL_STAKES.merge(other.FINAL_STAKES);
+
+        DURATION_QUANTILES.merge(other.DURATION_QUANTILES);
+        MAXIMUM_QUANTILES.merge(other.MAXIMUM_QUANTILES);
+        FINAL_STAKE_QUANTILES.merge(other.FINAL_STAKE_QUANTILES);
+
+        merge(DURATION_HISTOGRAM, other.DURATION_HISTOGRAM);
+        merge(MAXIMUM_HISTOGRAM, other.MAXIMUM_HISTOGRAM);
+        merge(FINAL_STAKE_HISTOGRAM, other.FINAL_STAKE_HISTOGRAM);
+    }
+
+    private static void merge(Histogram histogram, Histogram other) {
+        if (histogram != null && other != null) {
+            histogram.merge(other);
+        }
+    }
+
+    /**
+     * Forgets all the sessions accumulated so far.
+     */
+    public void reset() {
+        DURATIONS.reset();
+        MAXIMA.reset();
+        FINAL_STAKES.reset();
+
+        DURATION_QUANTILES.reset();
+        MAXIMUM_QUANTILES.reset();
+        FINAL_STAKE_QUANTILES.reset();
+
+        for (Histogram histogram : new Histogram[]{DURATION_HISTOGRAM, MAXIMUM_HISTOGRAM, FINAL_STAKE_HISTOGRAM}) {
+            if (histogram != null) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * Writes the statistics, histograms included, so that they can be read back exactly.
+     *
+     * @param out where to write the statistics
+     * @throws IOException if the statistics cannot be written
+     */
+    public void write(DataOutput out) throws IOException {
+        for (RunningStatistics statistics : new RunningStatistics[]{DURATIONS, MAXIMA, FINAL_STAKES}) {
+            statistics.write(out);
+        }
+        for (QuantileSketch sketch : new QuantileSketch[]{DURATION_QUANTILES, MAXIMUM_QUANTILES,
+                FINAL_STAKE_QUANTILES}) {
+            sketch.write(out);
+        }
+        for (Histogram histogram : new Histogram[]{DURATION_HISTOGRAM, MAXIMUM_HISTOGRAM, FINAL_STAKE_HISTOGRAM}) {
+            out.writeBoolean(histogram != null);
+            if (histogram != null) {
+                histogram.write(out);
+            }
+        }
+    }
+
+    /**
+     * Replaces these statistics with statistics written by write(), which must keep the same histograms.
+     *
+     * @param in where to read the statistics
+     * @throws IOException if the statistics cannot be read, or keep other histograms
+     */
+    public void read(DataInput in) throws IOException {
+        for (RunningStatistics statistics : new RunningStatistics[]{DURATIONS, MAXIMA, FINAL_STAKES}) {
+            statistics.read(in);
+        }
+        for (QuantileSketch sketch : new QuantileSketch[]{DURATION_QUANTILES, MAXIMUM_QUANTILES,
+                FINAL_STAKE_QUANTILES}) {
+            sketch.read(in);
+        }
+        for (Histogram histogram : new Histogram[]{DURATION_HISTOGRAM, MAXIMUM_HISTOGRAM, FINAL_STAKE_HISTOGRAM}) {
+            if (in.readBoolean() != (histogram != null)) {
+                throw new IOException("Statistics were written with other histograms");
+            }
+            if (histogram != null) {
+                histogram.read(in);
+            }
+        }
+    }
+
+    /**
+     * @return the number of sessions accumulated
+     */
+    public long getCount() {
+        return DURATIONS.getCount();
+    }
+}
@@ -24,10 +24,18 @@
 
 package io.github.softwarecat;
 
+import io.github.softwarecat.event.SessionEvent;
 import io.github.softwarecat.player.Player;
+import jdk.jfr.EventType;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * Simulator exercises the Roulette simulation with a given Player placing bets. It reports raw statistics on a number
@@ -35,6 +43,11 @@ import java.util.List;
  */
 public class Simulator {
 
+    /**
+     * The type of the SessionEvent, which tells whether any recording is collecting SessionEvents.
+     */
+    private static final EventType SESSION_EVENT_TYPE = EventType.getEventType(SessionEvent.class);
+
     /**
      * The duration value to use when initializing a Player for a session. A default value of 250 is a good choice
      * here.
@@ -61,16 +74,29 @@ public class Simulator {
     public double stdMaximum;
 
     /**
-     * A List of lengths of time the Player remained in the game. Each session of play producrs a duration metric,
-     * which are collected into this list.
+     * The median and 99th percentile of the durations, estimated within QuantileSketch.DEFAULT_RELATIVE_ACCURACY.
+     */
+    public double medianDuration;
+
+    public double p99Duration;
+
+    /**
+     * The median and 99th percentile of the maximum stakes, estimated within the same accuracy.
+     */
+    public double medianMaximum;
+
+    public double p99Maximum;
+
+    /**
+     * The metrics of every session of play: each session produces a duration, a maximum stake and a final stake,
+     * which are accumulated here without keeping the individual values.
      */
-    protected List<Integer> durations = new ArrayList<>();
+    protected SessionStatistics statistics = new SessionStatistics();
 
     /**
-     * A List of maximum stakes for each Player. Each session of play producers a maximum stake metric, which
-     * are collected into this list.
+     * The writer receiving the result of every session gathered, or null if results are not kept.
      */
-    protected List<Integer> maxima = new ArrayList<>();
+    protected SessionResultWriter resultWriter;
 
     /**
      * The Player; essentially, the betting strategy we are simulating.
@@ -96,8 +122,9 @@ public class Simulator {
     }
 
     /**
-     * Executes a single game session. The Player is initialized with their initial stake and initial cycles to go. An
-     * empty List of stake values is created. The session loop executes until the Player playing() returns false.
+     * Executes a single game session, keeping the whole trajectory of the stake. The Player is initialized with their
+     * initial stake and initial cycles to go. An empty List of stake values is created. The session loop executes
+     * until the Player playing() returns false.
      * This loop executes the Game cycle(); then it gets the stake from the Player and appends this amount to the
      * List of stake values. The List of individual stake values is returned as the result of the session of play.
      *
@@ -123,29 +150,184 @@ public class Simulator {
     }
 
     /**
-     * Executes the number of games sessions in samples. Each game session returns a List of stake values. When
-     * the session is over (either the play reached their time limit or their stake was spent), then the length of the session
-     * List and the maximum value in the session List are the resulting duration and maximum metrics. These two
-     * metrics are appended to the durations list and the maxima list.
+     * Executes a single game session like session(), but only keeps track of the duration, maximum, minimum and final
+     * stake, so that no List of stake values is built. The session is abandoned at the next cycle once the thread is
+     * interrupted.
+     *
+     * @param result the result to fill in
+     * @return the result, filled in
+     * @throws InvalidBetException   if the Player attempts to place a bet which exceeds the table’s limit
+     * @throws CancellationException if the thread is interrupted during the session
+     */
+    public SessionResult session(SessionResult result) throws InvalidBetException {
+        return session(result, null);
+    }
+
+    /**
+     * Executes a single game session like session(SessionResult), but takes the winning Bin of every cycle from a
+     * given sequence of spins instead of spinning the Wheel. Sessions of different players given the same spins see
+     * the same wheel, which is the basis of comparisons with common random numbers.
+     *
+     * @param result the result to fill in
+     * @param spins  the bin number of every cycle, at least sessionDuration of them, or null to spin the Wheel
+     * @return the result, filled in
+     * @throws InvalidBetException   if the Player attempts to place a bet which exceeds the table’s limit
+     * @throws CancellationException if the thread is interrupted during the session
+     */
+    public SessionResult session(SessionResult result, int[] spins) throws InvalidBetException {
+        // No event is allocated for the millions of sessions of a simulation which is not being recorded
+        SessionEvent event = null;
+        if (SESSION_EVENT_TYPE.isEnabled()) {
+            event = new SessionEvent();
+            event.begin();
+        }
+
+        player.stake = initialStake;
+        player.roundsToGo = sessionDuration;
+        player.newRound();
+
+        Wheel wheel = game.getWheel();
+        int duration = 0;
+        int maximum = Integer.MIN_VALUE;
+        int minimum = Integer.MAX_VALUE;
+        for (int i = 0; i < sessionDuration; i++) {
+            if (!player.playing()) {
+                break;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Session interrupted after " + duration + " cycles");
+            }
+
+            if (spins == null) {
+                game.cycle(player);
+            } else {
+                game.cycle(player, wheel.getBin(spins[i]));
+            }
+            duration++;
+            maximum = Math.max(maximum, player.stake);
+            minimum = Math.min(minimum, player.stake);
+        }
+
+        result.duration = duration;
+        result.maximum = duration == 0 ? initialStake : maximum;
+        result.minimum = duration == 0 ? initialStake : minimum;
+        result.finalStake = player.stake;
+
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.playerType = player.getClass().getSimpleName();
+                event.initialStake = initialStake;
+                event.cycles = result.duration;
+                event.maximum = result.maximum;
+                event.finalStake = result.finalStake;
+                event.commit();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Executes the number of games sessions in samples. When each session is over (either the play reached their
+     * time limit or their stake was spent), its duration, maximum and final stake are accumulated in the session
+     * statistics.
      *
      * @throws InvalidBetException if the Player attempts to place a bet which exceeds the table’s limit
      */
     public void gather() throws InvalidBetException {
+        SessionResult result = new SessionResult();
         for (int i = 0; i < samples; i++) {
-            List<Integer> sessionResult = session();
+            statistics.add(session(result));
+            writeResult(result, i);
+        }
+
+        summarize();
+    }
+
+    /**
+     * Counts every metric of the sessions gathered from now on in a histogram. A ParallelSimulator fills a separate
+     * histogram for every chunk, then adds them up.
+     *
+     * @param durations   the empty histogram of the durations, or null not to keep one
+     * @param maxima      the empty histogram of the maximum stakes, or null not to keep one
+     * @param finalStakes the empty histogram of the final stakes, or null not to keep one
+     * @throws IllegalStateException if sessions have been gathered already, since they would be missing from the
+     *                               histograms
+     */
+    public void setHistograms(Histogram durations, Histogram maxima, Histogram finalStakes) {
+        if (statistics.getCount() > 0) {
+            throw new IllegalStateException("Histograms must be set before gathering");
+        }
+        statistics = new SessionStatistics(durations, maxima, finalStakes);
+    }
+
+    /**
+     * Writes every histogram kept as a CSV file in a directory: durations.csv, maxima.csv and final-stakes.csv.
+     *
+     * @param directory the directory of the files
+     * @throws IOException if a file cannot be written
+     */
+    public void writeHistograms(Path directory) throws IOException {
+        writeHistogram(statistics.DURATION_HISTOGRAM, directory.resolve("durations.csv"));
+        writeHistogram(statistics.MAXIMUM_HISTOGRAM, directory.resolve("maxima.csv"));
+        writeHistogram(statistics.FINAL_STAKE_HISTOGRAM, directory.resolve("final-stakes.csv"));
+    }
+
+    private static void writeHistogram(Histogram histogram, Path path) throws IOException {
+        if (histogram != null) {
+            try (Writer out = Files.newBufferedWriter(path)) {
+                histogram.writeCsv(out);
+            }
+        }
+    }
 
-            durations.add(sessionResult.size());
+    /**
+     * Streams the results of the sessions gathered from now on into a result file. Sessions of a plain Simulator
+     * are not seeded individually, so their sample index is written in place of a seed.
+     *
+     * @param resultWriter the writer receiving every result, or null to stop writing results
+     */
+    public void setResultWriter(SessionResultWriter resultWriter) {
+        this.resultWriter = resultWriter;
+    }
 
-            maxima.add(sessionResult.stream()
-                    .mapToInt(Integer::intValue)
-                    .max()
-                    .orElse(initialStake));
+    /**
+     * Passes the result of a session to the result writer, if there is one.
+     *
+     * @param result the result of the session
+     * @param seed   the seed of the session, or its sample index
+     * @throws UncheckedIOException if the result file cannot be written
+     */
+    protected void writeResult(SessionResult result, long seed) {
+        if (resultWriter != null) {
+            try {
+                resultWriter.write(result, seed);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
+    }
 
-        meanDuration = IntegerStatistics.mean(durations);
-        stdDuration = IntegerStatistics.std(durations);
+    /**
+     * Copies the mean, standard deviation, median and 99th percentile of the accumulated metrics into the public
+     * result fields.
+     */
+    protected void summarize() {
+        meanDuration = statistics.DURATIONS.getMean();
+        stdDuration = statistics.DURATIONS.getStd();
+        medianDuration = statistics.DURATION_QUANTILES.getMedian();
+        p99Duration = statistics.DURATION_QUANTILES.getQuantile(0.99);
 
-        meanMaximum = IntegerStatistics.mean(maxima);
-        stdMaximum = IntegerStatistics.std(maxima);
+        meanMaximum = statistics.MAXIMA.getMean();
+        stdMaximum = statistics.MAXIMA.getStd();
+        medianMaximum = statistics.MAXIMUM_QUANTILES.getMedian();
+        p99Maximum = statistics.MAXIMUM_QUANTILES.getQuantile(0.99);
+    }
+
+    /**
+     * @return the statistics accumulated over all sessions gathered so far
+     */
+    public SessionStatistics getStatistics() {
+        return statistics;
     }
 }
@@ -0,0 +1,321 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.random.RandomSource;
+import io.github.softwarecat.random.SplitMix64;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * SpinTape is a file of pre-generated spins, which a Wheel can replay instead of drawing random numbers. Repeated
+ * experiments on the same tape see identical spins at no random number cost, and since the file is memory-mapped,
+ * several JVMs replaying the same tape share a single copy in the page cache.
+ * <p>
+ * Each spin is a bin number between 0 and 37 packed in 6 bits, four spins to every three bytes, after a 16-byte
+ * header holding a magic number, the format version and the number of spins. Any spin can be found directly by its
+ * index, so parallel workers can each start reading at their own offset through their own Cursor.
+ */
+public class SpinTape {
+
+    /**
+     * The first four bytes of a spin tape: ‘SPNT’.
+     */
+    public static final int MAGIC = 0x53504E54;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header, in bytes.
+     */
+    protected static final int HEADER_BYTES = 16;
+
+    /**
+     * The number of bytes mapped at a time. Files larger than this are mapped in several segments; the size is a
+     * multiple of three, so that no group of four spins straddles two segments.
+     */
+    protected static final int SEGMENT_BYTES = 3 << 28;
+
+    /**
+     * The number of spins on the tape.
+     */
+    protected final long size;
+
+    /**
+     * The packed spins, in consecutive segments of SEGMENT_BYTES.
+     */
+    protected final MappedByteBuffer[] segments;
+
+    /**
+     * Maps the packed spins of a tape, read-only.
+     *
+     * @param size     the number of spins on the tape
+     * @param segments the packed spins
+     */
+    protected SpinTape(long size, MappedByteBuffer[] segments) {
+        this.size = size;
+        this.segments = segments;
+    }
+
+    /**
+     * Generates a tape of spins drawn from a SplitMix64 generator with the given seed.
+     *
+     * @param path  the file to write, replaced if it exists
+     * @param count the number of spins
+     * @param seed  the seed of the spins
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, long count, long seed) throws IOException {
+        write(path, count, new SplitMix64(seed));
+    }
+
+    /**
+     * Generates a tape of spins drawn from the given source of random numbers.
+     *
+     * @param path  the file to write, replaced if it exists
+     * @param count the number of spins
+     * @param rng   the source of the spins
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, long count, RandomSource rng) throws IOException {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putLong(count).flip();
+            writeFully(channel, header);
+
+            // A whole number of groups of four spins fits in the buffer
+            ByteBuffer buffer = ByteBuffer.allocateDirect(3 << 14);
+            for (long written = 0; written < count; written += 4) {
+                int group = 0;
+                for (int k = 0; k < 4; k++) {
+                    int spin = written + k < count ? rng.nextInt(38) : 0;
+                    group = (group << 6) | spin;
+                }
+                buffer.put((byte) (group >>> 16)).put((byte) (group >>> 8)).put((byte) group);
+
+                if (!buffer.hasRemaining()) {
+                    buffer.flip();
+                    writeFully(channel, buffer);
+                    buffer.clear();
+                }
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Maps a tape written by write().
+     *
+     * @param path the file of the tape
+     * @return the tape
+     * @throws IOException if the file cannot be read or is not a spin tape
+     */
+    public static SpinTape open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException(path + " is not a spin tape");
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a spin tape");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported spin tape version " + version);
+            }
+            long size = header.getLong();
+
+            long bytes = (size + 3) / 4 * 3;
+            if (channel.size() < HEADER_BYTES + bytes) {
+                throw new IOException(path + " is truncated");
+            }
+
+            // The mappings stay valid after the channel is closed
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((bytes + SEGMENT_BYTES - 1) / SEGMENT_BYTES)];
+            for (int i = 0; i < segments.length; i++) {
+                long offset = (long) i * SEGMENT_BYTES;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offset,
+                        Math.min(SEGMENT_BYTES, bytes - offset));
+            }
+            return new SpinTape(size, segments);
+        }
+    }
+
+    /**
+     * @return the number of spins on the tape
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Reads a spin directly by its index.
+     *
+     * @param index the index of the spin
+     * @return the bin number of the spin
+     */
+    public int get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Spin " + index + " is not on a tape of " + size);
+        }
+        return (group(index / 4) >>> (18 - 6 * (int) (index % 4))) & 63;
+    }
+
+    /**
+     * Reads the three bytes of a group of four spins.
+     *
+     * @param group the index of the group
+     * @return the group as a 24-bit value, the first spin in the highest bits
+     */
+    protected int group(long group) {
+        long offset = group * 3;
+        MappedByteBuffer segment = segments[(int) (offset / SEGMENT_BYTES)];
+        int position = (int) (offset % SEGMENT_BYTES);
+        return (segment.get(position) & 0xFF) << 16 | (segment.get(position + 1) & 0xFF) << 8
+                | (segment.get(position + 2) & 0xFF);
+    }
+
+    /**
+     * Creates a cursor reading the tape from a given spin.
+     *
+     * @param start the index of the first spin to read
+     * @return the cursor
+     */
+    public Cursor cursor(long start) {
+        Cursor cursor = new Cursor();
+        cursor.seek(start);
+        return cursor;
+    }
+
+    /**
+     * Creates a cursor reading the spins of a sample, for samples of a fixed number of spins laid end to end.
+     *
+     * @param sample         the index of the sample
+     * @param spinsPerSample the number of spins of every sample
+     * @return the cursor, at the first spin of the sample
+     */
+    public Cursor cursor(long sample, int spinsPerSample) {
+        return cursor(sample * spinsPerSample);
+    }
+
+    /**
+     * Cursor reads consecutive spins of a tape. Reads are absolute, so any number of cursors can read the same tape
+     * from different threads; a single cursor must only be used by one thread at a time.
+     */
+    public class Cursor {
+
+        /**
+         * The index of the next spin.
+         */
+        protected long position;
+
+        /**
+         * The group holding the next spin, or -1 if it has not been read yet.
+         */
+        protected long groupIndex = -1;
+
+        /**
+         * The spins of the group, as read by group().
+         */
+        protected int group;
+
+        /**
+         * Moves the cursor to a given spin.
+         *
+         * @param index the index of the next spin to read
+         */
+        public void seek(long index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Spin " + index + " is not on a tape of " + size);
+            }
+            position = index;
+        }
+
+        /**
+         * @return the index of the next spin
+         */
+        public long position() {
+            return position;
+        }
+
+        /**
+         * @return the number of spins left on the tape after the cursor
+         */
+        public long remaining() {
+            return size - position;
+        }
+
+        /**
+         * @return whether there is a spin left to read
+         */
+        public boolean hasNext() {
+            return position < size;
+        }
+
+        /**
+         * Reads the next spin.
+         *
+         * @return the bin number of the spin
+         * @throws NoSuchElementException if the tape has been read to its end
+         */
+        public int next() {
+            if (position >= size) {
+                throw new NoSuchElementException("The spin tape has been read to its end");
+            }
+            long index = position >>> 2;
+            if (index != groupIndex) {
+                group = group(index);
+                groupIndex = index;
+            }
+            int spin = (group >>> (18 - 6 * (int) (position & 3))) & 63;
+            position++;
+            return spin;
+        }
+    }
+}
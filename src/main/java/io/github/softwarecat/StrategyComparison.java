@@ -0,0 +1,269 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.Player;
+import io.github.softwarecat.player.PlayerFactory;
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.JdkRandomSource;
+import io.github.softwarecat.random.SplitMix64;
+
+import java.util.List;
+
+/**
+ * StrategyComparison compares several betting strategies with common random numbers: in every sample, all the
+ * strategies play against the same sequence of spins, the n-th cycle of every Player seeing the n-th spin. The
+ * difference between two strategies is then measured sample by sample, and the luck of the wheel, which two
+ * independent simulations would add to both, largely cancels out. Ranking strategies takes far fewer samples than
+ * running a Simulator for each.
+ * <p>
+ * Every sample is seeded from the master seed and its index, as in ParallelSimulator, so a comparison is reproducible.
+ */
+public class StrategyComparison {
+
+    /**
+     * The confidence of the reported intervals, as a number of standard errors: 1.96 for 95%.
+     */
+    public static final double Z_95 = 1.96;
+
+    /**
+     * The duration value to use when initializing a Player for a session.
+     */
+    public int sessionDuration = 250;
+
+    /**
+     * The stake value to use when initializing a Player for a session.
+     */
+    public int initialStake = Game.TABLE_MINIMUM * 100;
+
+    /**
+     * The number of samples, each of which plays one session of every strategy.
+     */
+    public int samples = 50;
+
+    /**
+     * The seed from which the seed of every sample is derived.
+     */
+    public long seed;
+
+    /**
+     * The strategies compared.
+     */
+    public final List<PlayerType> PLAYER_TYPES;
+
+    /**
+     * The Wheel which draws the spins shared by all strategies.
+     */
+    protected final Wheel WHEEL;
+
+    /**
+     * A Simulator for every strategy, each with its own Game and Player.
+     */
+    protected final Simulator[] simulators;
+
+    /**
+     * The random number generator of every Player, used only by random strategies.
+     */
+    protected final JdkRandomSource[] playerRngs;
+
+    /**
+     * The metrics of the sessions of every strategy, indexed by its position in PLAYER_TYPES like the differences, so
+     * that a strategy compared with a copy of itself keeps the sessions of each copy apart.
+     */
+    protected final SessionStatistics[] statistics;
+
+    /**
+     * The differences in duration between every pair of strategies, indexed by their position in PLAYER_TYPES.
+     */
+    protected final RunningStatistics[][] durationDifferences;
+
+    /**
+     * The differences in maximum stake between every pair of strategies, indexed by their position in PLAYER_TYPES.
+     */
+    protected final RunningStatistics[][] maximumDifferences;
+
+    /**
+     * Creates a comparison of all the types of Player.
+     *
+     * @param seed the master seed of the comparison
+     */
+    public StrategyComparison(long seed) {
+        this(seed, PlayerType.values());
+    }
+
+    /**
+     * Creates a comparison of the given types of Player.
+     *
+     * @param seed        the master seed of the comparison
+     * @param playerTypes the strategies to compare
+     */
+    public StrategyComparison(long seed, PlayerType... playerTypes) {
+        this.seed = seed;
+        this.PLAYER_TYPES = List.of(playerTypes);
+
+        // Reseeded for every sample by setSpinSeed()
+        WHEEL = new Wheel(new SplitMix64(seed));
+        new BinBuilder().buildBins(WHEEL);
+
+        int count = playerTypes.length;
+        simulators = new Simulator[count];
+        playerRngs = new JdkRandomSource[count];
+        statistics = new SessionStatistics[count];
+        durationDifferences = new RunningStatistics[count][count];
+        maximumDifferences = new RunningStatistics[count][count];
+        for (int i = 0; i < count; i++) {
+            Wheel wheel = new Wheel();
+            new BinBuilder().buildBins(wheel);
+            Table table = new Table(wheel);
+
+            playerRngs[i] = new JdkRandomSource(0);
+            Player player = PlayerFactory.getPlayer(playerTypes[i], table, playerRngs[i]);
+            simulators[i] = new Simulator(new Game(wheel, table), player);
+
+            statistics[i] = new SessionStatistics();
+            for (int j = 0; j < count; j++) {
+                durationDifferences[i][j] = new RunningStatistics();
+                maximumDifferences[i][j] = new RunningStatistics();
+            }
+        }
+    }
+
+    /**
+     * Executes the number of samples in samples. Each draws one sequence of spins and plays a session of every
+     * strategy against it, then accumulates the metrics of every strategy and the differences between every pair.
+     *
+     * @throws InvalidBetException if a Player attempts to place a bet which exceeds the table’s limit
+     */
+    public void gather() throws InvalidBetException {
+        int count = simulators.length;
+        int[] spins = new int[sessionDuration];
+        SessionResult[] results = new SessionResult[count];
+        for (int i = 0; i < count; i++) {
+            results[i] = new SessionResult();
+            simulators[i].sessionDuration = sessionDuration;
+            simulators[i].initialStake = initialStake;
+        }
+
+        for (int sample = 0; sample < samples; sample++) {
+            long sampleSeed = ParallelSimulator.sampleSeed(seed, sample);
+            WHEEL.setSpinSeed(sampleSeed);
+            WHEEL.fillSpins(spins);
+
+            for (int i = 0; i < count; i++) {
+                playerRngs[i].setSeed(SplitMix64.mix(sampleSeed));
+                simulators[i].session(results[i], spins);
+                statistics[i].add(results[i]);
+            }
+
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < count; j++) {
+                    durationDifferences[i][j].add(results[i].duration - results[j].duration);
+                    maximumDifferences[i][j].add(results[i].maximum - results[j].maximum);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param playerType a strategy compared, the first copy of it if it is compared more than once
+     * @return the metrics of the sessions of the strategy
+     */
+    public SessionStatistics getStatistics(PlayerType playerType) {
+        return statistics[indexOf(playerType)];
+    }
+
+    /**
+     * @param index the position of a strategy in PLAYER_TYPES
+     * @return the metrics of the sessions of the strategy
+     */
+    public SessionStatistics getStatistics(int index) {
+        return statistics[index];
+    }
+
+    /**
+     * @param playerType a strategy compared, the first copy of it if it is compared more than once
+     * @param baseline   another strategy compared, likewise
+     * @return the statistics of the duration of playerType minus the duration of baseline, sample by sample
+     */
+    public RunningStatistics getDurationDifference(PlayerType playerType, PlayerType baseline) {
+        return durationDifferences[indexOf(playerType)][indexOf(baseline)];
+    }
+
+    /**
+     * @param index         the position of a strategy in PLAYER_TYPES
+     * @param baselineIndex the position of another strategy in PLAYER_TYPES
+     * @return the statistics of the duration of the strategy minus the duration of the baseline, sample by sample
+     */
+    public RunningStatistics getDurationDifference(int index, int baselineIndex) {
+        return durationDifferences[index][baselineIndex];
+    }
+
+    /**
+     * @param playerType a strategy compared, the first copy of it if it is compared more than once
+     * @param baseline   another strategy compared, likewise
+     * @return the statistics of the maximum of playerType minus the maximum of baseline, sample by sample
+     */
+    public RunningStatistics getMaximumDifference(PlayerType playerType, PlayerType baseline) {
+        return maximumDifferences[indexOf(playerType)][indexOf(baseline)];
+    }
+
+    /**
+     * @param index         the position of a strategy in PLAYER_TYPES
+     * @param baselineIndex the position of another strategy in PLAYER_TYPES
+     * @return the statistics of the maximum of the strategy minus the maximum of the baseline, sample by sample
+     */
+    public RunningStatistics getMaximumDifference(int index, int baselineIndex) {
+        return maximumDifferences[index][baselineIndex];
+    }
+
+    private int indexOf(PlayerType playerType) {
+        int index = PLAYER_TYPES.indexOf(playerType);
+        if (index < 0) {
+            throw new IllegalArgumentException(playerType + " is not compared");
+        }
+        return index;
+    }
+
+    /**
+     * Describes the difference of every strategy from a baseline, with 95% confidence intervals.
+     *
+     * @param baseline the strategy the others are compared with
+     * @return a line for every other strategy
+     */
+    public String report(PlayerType baseline) {
+        StringBuilder report = new StringBuilder();
+        for (PlayerType playerType : PLAYER_TYPES) {
+            if (playerType == baseline) {
+                continue;
+            }
+            RunningStatistics duration = getDurationDifference(playerType, baseline);
+            RunningStatistics maximum = getMaximumDifference(playerType, baseline);
+            report.append(String.format(Game.LOCALE, "%s - %s: duration %+.2f ± %.2f, maximum %+.2f ± %.2f%n",
+                    playerType, baseline, duration.getMean(), duration.getConfidenceHalfWidth(Z_95),
+                    maximum.getMean(), maximum.getConfidenceHalfWidth(Z_95)));
+        }
+        return report.toString();
+    }
+}
@@ -24,8 +24,10 @@
 
 package io.github.softwarecat;
 
-import java.util.LinkedList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.ListIterator;
+import java.util.RandomAccess;
 
 /**
  * Table contains all the Bet s created by the Player. A table also has a betting limit, and the sum of all of a player’s
@@ -38,7 +40,7 @@ public class Table {
     /**
      * This is a list of the Bets currently active. These will result in either wins or losses to the Player.
      */
-    private final LinkedList<Bet> BETS = new LinkedList<>();
+    private final BetStore BETS = new BetStore();
 
     /**
      * This is the table limit. The sum of the bets from a Player must be less than or equal to this limit.
@@ -68,29 +70,26 @@ public class Table {
      * Validates the table-limit rules:
      * The sum of all bets is less than or equal to the table limit.
      * All bet amounts are greater than or equal to the table minimum.
+     * <p>
+     * Both rules are checked against counters kept up to date as bets are placed and removed, so this takes
+     * constant time however many bets are on the table.
      *
      * @throws InvalidBetException if the bets don’t pass the table limit rules
      */
     public void validate() throws InvalidBetException {
         // Minimum check
-        for (Bet bet : BETS) {
-            if (bet.amountBet < MINIMUM) {
-                throw new InvalidBetException();
-            }
+        if (BETS.belowMinimum > 0) {
+            throw new InvalidBetException();
         }
 
         // Maximum check
-        int sum = 0;
-        for (Bet bet : BETS) {
-            sum += bet.amountBet;
-        }
-        if (sum > LIMIT) {
+        if (BETS.total > LIMIT) {
             throw new InvalidBetException();
         }
     }
 
     /**
-     * Adds this bet to the list of working bets.
+     * Adds this bet to the list of working bets. The amount of a bet must not change while it is on the table.
      *
      * @param bet a Bet instance to be added to the table
      * @throws InvalidBetException if the bets don’t pass the table limit rules
@@ -118,6 +117,31 @@ public class Table {
         return BETS.listIterator();
     }
 
+    /**
+     * @return the number of bets on the table
+     */
+    public int size() {
+        return BETS.size();
+    }
+
+    /**
+     * Returns the bet at the given position, in the order the bets were placed. Unlike iterator(), this does not
+     * allocate, which matters in the Game’s settlement loop.
+     *
+     * @param index the position of the bet
+     * @return the bet at that position
+     */
+    public Bet get(int index) {
+        return BETS.get(index);
+    }
+
+    /**
+     * Removes all bets from the table.
+     */
+    public void clear() {
+        BETS.clear();
+    }
+
     /**
      * @return String representation of all current bets.
      */
@@ -125,4 +149,105 @@ public class Table {
     public String toString() {
         return BETS.toString();
     }
+
+    /**
+     * BetStore keeps the Bets in an array, in the order they were placed, together with the running total of their
+     * amounts and the number of them below the table minimum. Every way of adding or removing a Bet, including
+     * through a ListIterator, goes through add(int, Bet), set(int, Bet) or remove(int), which update both counters.
+     */
+    private class BetStore extends AbstractList<Bet> implements RandomAccess {
+
+        /**
+         * The Bets, in the first size elements.
+         */
+        private Bet[] bets = new Bet[4];
+
+        /**
+         * The number of Bets.
+         */
+        private int size = 0;
+
+        /**
+         * The sum of the amounts of all Bets. A long cannot overflow from int amounts.
+         */
+        private long total = 0;
+
+        /**
+         * The number of Bets whose amount is below the table minimum.
+         */
+        private int belowMinimum = 0;
+
+        @Override
+        public Bet get(int index) {
+            checkIndex(index, size);
+            return bets[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void add(int index, Bet bet) {
+            checkIndex(index, size + 1);
+            if (size == bets.length) {
+                bets = Arrays.copyOf(bets, size * 2);
+            }
+            System.arraycopy(bets, index, bets, index + 1, size - index);
+            bets[index] = bet;
+            size++;
+            modCount++;
+            count(bet, 1);
+        }
+
+        @Override
+        public Bet set(int index, Bet bet) {
+            checkIndex(index, size);
+            Bet previous = bets[index];
+            bets[index] = bet;
+            count(previous, -1);
+            count(bet, 1);
+            return previous;
+        }
+
+        @Override
+        public Bet remove(int index) {
+            checkIndex(index, size);
+            Bet removed = bets[index];
+            System.arraycopy(bets, index + 1, bets, index, size - index - 1);
+            bets[--size] = null;
+            modCount++;
+            count(removed, -1);
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(bets, 0, size, null);
+            size = 0;
+            modCount++;
+            total = 0;
+            belowMinimum = 0;
+        }
+
+        /**
+         * Updates the counters for a Bet entering or leaving the table.
+         *
+         * @param bet  the Bet
+         * @param sign 1 if the Bet enters the table, -1 if it leaves
+         */
+        private void count(Bet bet, int sign) {
+            total += sign * (long) bet.amountBet;
+            if (bet.amountBet < MINIMUM) {
+                belowMinimum += sign;
+            }
+        }
+
+        private void checkIndex(int index, int bound) {
+            if (index < 0 || index >= bound) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+    }
 }
@@ -24,6 +24,10 @@
 
 package io.github.softwarecat;
 
+import io.github.softwarecat.random.JdkRandomSource;
+import io.github.softwarecat.random.RandomSource;
+
+import java.nio.IntBuffer;
 import java.util.*;
 
 /**
@@ -32,7 +36,7 @@ import java.util.*;
  */
 public class Wheel {
 
-    protected final Map<String, Outcome> ALL_OUTCOMES = new HashMap<>();
+    protected final Map<String, Outcome> ALL_OUTCOMES;
     /**
      * Contains the individual Bin instances.
      * This is always a 'new List( 38 )'.
@@ -43,7 +47,22 @@ public class Wheel {
      * This is not always simply ‘new java.util.Random()’. For testing, we would
      * inject a non-random random number generator in place of the system random number generator.
      */
-    private final Random RNG;
+    private final RandomSource RNG;
+
+    /**
+     * The number of distinct Outcomes added so far, which is also the id of the next new Outcome.
+     */
+    private int outcomeCount = 0;
+
+    /**
+     * The index of the Outcomes by category and covered bins. It is rebuilt on demand after Outcomes are added.
+     */
+    private OutcomeIndex outcomeIndex;
+
+    /**
+     * The spin tape replayed by this Wheel instead of drawing random numbers, or null to draw them.
+     */
+    private SpinTape.Cursor tape;
 
     /**
      * Create a wheel that will use a the default random number generator. The java.util.Random will be
@@ -61,11 +80,39 @@ public class Wheel {
      *            be a non-random number generator
      */
     public Wheel(Random rng) {
+        this(new JdkRandomSource(rng));
+    }
+
+    /**
+     * Create a wheel with the given source of random numbers, such as a SplittableRandomSource or a
+     * Xoshiro256PlusPlus. This will define the various bins and outcomes using an instance of BinBuilder.
+     *
+     * @param rng the source of random numbers used to select a Bin
+     */
+    public Wheel(RandomSource rng) {
         List<Bin> bins = new ArrayList<>();
         for (int i = 0; i < 38; i++) {
             bins.add(new Bin());
         }
         this.BINS = bins;
+        this.ALL_OUTCOMES = new HashMap<>();
+
+        this.RNG = rng;
+    }
+
+    /**
+     * Create a wheel sharing the Bins and Outcomes of another wheel, already built by a BinBuilder, but spinning with
+     * its own source of random numbers. Many Wheels, on many threads, can share a single layout this way instead of
+     * building 38 Bins each. The layout must not change afterwards: Outcomes added to one wheel would show on all.
+     *
+     * @param layout a wheel whose Bins are complete
+     * @param rng    the source of random numbers used to select a Bin
+     */
+    public Wheel(Wheel layout, RandomSource rng) {
+        this.BINS = layout.BINS;
+        this.ALL_OUTCOMES = layout.ALL_OUTCOMES;
+        this.outcomeCount = layout.outcomeCount;
+        this.outcomeIndex = layout.getOutcomeIndex();
 
         this.RNG = rng;
     }
@@ -75,28 +122,141 @@ public class Wheel {
     }
 
     /**
-     * Adds the given Outcome to the Bin with the given number.
+     * Adds the given Outcome to the Bin with the given number. An Outcome is given the id of this wheel the first
+     * time it is added, so an Outcome already added to another wheel cannot be added.
      *
      * @param bin     bin number, in the range zero to 37 inclusive
      * @param outcome the Outcome to add to this Bin
+     * @throws IllegalArgumentException if the Outcome already has an id from another wheel
      */
     public void addOutcome(int bin, Outcome outcome) {
+        // Give the Outcome a dense id, shared by all equal Outcomes
+        Outcome known = ALL_OUTCOMES.get(outcome.toString());
+        int id = known == null ? outcomeCount : known.id;
+        if (outcome.id != -1 && (outcome.idSpace != ALL_OUTCOMES || outcome.id != id)) {
+            throw new IllegalArgumentException("Outcome " + outcome + " already has id " + outcome.id
+                    + " from another wheel");
+        }
+        if (known == null) {
+            outcomeCount++;
+        }
+        outcome.id = id;
+        outcome.idSpace = ALL_OUTCOMES;
+
         // Update Bin
         BINS.get(bin).add(outcome);
 
         // Update Map of all possible Outcomes
         ALL_OUTCOMES.put(outcome.toString(), outcome);
+        outcomeIndex = null;
     }
 
     /**
-     * Generates a random number between 0 and 37, and returns the randomly selected Bin.
+     * Returns the number of distinct Outcomes added to this wheel. Outcome ids range from zero to one less than
+     * this number.
+     *
+     * @return the number of distinct Outcomes
+     */
+    public int getOutcomeCount() {
+        return outcomeCount;
+    }
+
+    /**
+     * Generates a random number between 0 and 37, and returns the randomly selected Bin. When a spin tape is
+     * replayed, the number is read from the tape instead.
      *
      * @return a Bin selected at random from the wheel
      */
     public Bin next() {
+        if (tape != null) {
+            return BINS.get(tape.next());
+        }
         return BINS.get(RNG.nextInt(38));
     }
 
+    /**
+     * Replays a spin tape: from now on, next() and fillSpins() read spins from the tape instead of drawing random
+     * numbers, until the tape is removed with a null cursor.
+     *
+     * @param tape the cursor to read spins from, or null to draw random numbers again
+     */
+    public void setSpinTape(SpinTape.Cursor tape) {
+        this.tape = tape;
+    }
+
+    /**
+     * Reseeds the source of random numbers of this Wheel, so that the spins drawn afterwards, by next() or in bulk,
+     * are reproducible.
+     *
+     * @param seed the seed
+     */
+    public void setSpinSeed(long seed) {
+        RNG.setSeed(seed);
+    }
+
+    /**
+     * Draws spins in bulk: fills part of an array with bin numbers between 0 and 37. The numbers are drawn without
+     * bias from the same source of random numbers as next(), through RandomSource.nextInts(), which the fast sources
+     * implement with their state in local variables and which costs a java.util.Random a single atomic update. The
+     * spins drawn therefore depend only on the configured RandomSource and its seed, and with a java.util.Random on
+     * the sizes of the batches too. The bins themselves are available through getBin(). When a spin tape is
+     * replayed, the numbers are read from the tape instead.
+     *
+     * @param spins  the array to fill
+     * @param offset the index of the first element to fill
+     * @param length the number of elements to fill
+     */
+    public void fillSpins(int[] spins, int offset, int length) {
+        if (tape != null) {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                spins[i] = tape.next();
+            }
+            return;
+        }
+
+        RNG.nextInts(38, spins, offset, length);
+    }
+
+    /**
+     * Fills an array with bin numbers between 0 and 37, see fillSpins(int[], int, int).
+     *
+     * @param spins the array to fill
+     * @return the array, filled
+     */
+    public int[] fillSpins(int[] spins) {
+        fillSpins(spins, 0, spins.length);
+        return spins;
+    }
+
+    /**
+     * Fills the remaining elements of a buffer with bin numbers between 0 and 37, see fillSpins(int[], int, int).
+     *
+     * @param spins the buffer to fill; its position is advanced to its limit
+     */
+    public void fillSpins(IntBuffer spins) {
+        if (spins.hasArray()) {
+            fillSpins(spins.array(), spins.arrayOffset() + spins.position(), spins.remaining());
+            spins.position(spins.limit());
+        } else {
+            int[] block = new int[Math.min(spins.remaining(), 4096)];
+            while (spins.hasRemaining()) {
+                int length = Math.min(spins.remaining(), block.length);
+                fillSpins(block, 0, length);
+                spins.put(block, 0, length);
+            }
+        }
+    }
+
+    /**
+     * Returns an endless Iterator of randomly selected Bins, which draws spins in bulk, bufferSize at a time.
+     *
+     * @param bufferSize the number of spins drawn at once
+     * @return an Iterator of Bins
+     */
+    public Iterator<Bin> spinIterator(int bufferSize) {
+        return new SpinIterator(bufferSize);
+    }
+
     /**
      * Generates a random number between 0 and 37, and returns the randomly selected Bin.
      *
@@ -108,7 +268,67 @@ public class Wheel {
     }
 
     /**
-     * Get all outcomes previously added to the wheel that contains the queried name.
+     * Finds the number of a Bin of this Wheel.
+     *
+     * @param bin a Bin of this Wheel
+     * @return the number of the Bin, in the range zero to 37 inclusive, or -1 if it is not a Bin of this Wheel
+     */
+    public int indexOf(Bin bin) {
+        // Bins are sets, so two different Bins may be equal; only the Bin itself will do
+        for (int i = 0; i < BINS.size(); i++) {
+            if (BINS.get(i) == bin) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the Outcomes on this wheel. BinBuilder builds it once all Outcomes are added; if more
+     * Outcomes are added later, it is rebuilt on the next call.
+     *
+     * @return the index of the Outcomes
+     */
+    public OutcomeIndex getOutcomeIndex() {
+        if (outcomeIndex == null) {
+            outcomeIndex = new OutcomeIndex(this);
+        }
+        return outcomeIndex;
+    }
+
+    /**
+     * Replaces the index of the Outcomes on this wheel.
+     *
+     * @param outcomeIndex an index of the Outcomes currently on this wheel
+     */
+    public void setOutcomeIndex(OutcomeIndex outcomeIndex) {
+        this.outcomeIndex = outcomeIndex;
+    }
+
+    /**
+     * Get all outcomes of the given category, in constant time.
+     *
+     * @param category the category of the outcomes
+     * @return list of Outcomes of that category
+     */
+    public List<Outcome> getOutcomes(BetCategory category) {
+        return getOutcomeIndex().getOutcomes(category);
+    }
+
+    /**
+     * Get the outcome of the given category covering exactly the given bins, in constant time.
+     *
+     * @param category the category of the outcome
+     * @param bins     the bins covered, 0 to 37 with 37 standing for 00
+     * @return the Outcome, or null if there is no such Outcome
+     */
+    public Outcome getOutcome(BetCategory category, int... bins) {
+        return getOutcomeIndex().getOutcome(category, bins);
+    }
+
+    /**
+     * Get all outcomes previously added to the wheel that contains the queried name. This scans every Outcome;
+     * prefer getOutcomes(BetCategory) or getOutcome(BetCategory, int...) where possible.
      *
      * @param name the name the matching outcomes must contain
      * @return set of Outcomes with the queried name
@@ -122,4 +342,39 @@ public class Wheel {
         }
         return result;
     }
+
+    /**
+     * SpinIterator returns the Bins of spins drawn in bulk, drawing the next batch when the buffer is used up.
+     */
+    private class SpinIterator implements Iterator<Bin> {
+
+        /**
+         * The bin numbers of the current batch.
+         */
+        private final int[] spins;
+
+        /**
+         * The index of the next spin to return.
+         */
+        private int position;
+
+        private SpinIterator(int bufferSize) {
+            spins = new int[bufferSize];
+            position = bufferSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public Bin next() {
+            if (position == spins.length) {
+                fillSpins(spins);
+                position = 0;
+            }
+            return BINS.get(spins[position++]);
+        }
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.event;
+
+import jdk.jfr.*;
+
+/**
+ * SessionEvent is a Java Flight Recorder event covering a session of play, from the moment the Player is given their
+ * stake to the end of their last cycle. Recorded alongside the JVM's own events, it shows which sessions were running
+ * during a GC pause or a burst of allocation.
+ */
+@Name("io.github.softwarecat.Session")
+@Label("Session")
+@Description("A session of play of a Player")
+@Category("Roulette")
+@StackTrace(false)
+public class SessionEvent extends Event {
+
+    @Label("Player Type")
+    @Description("The class of the Player, which embodies their betting strategy")
+    public String playerType;
+
+    @Label("Initial Stake")
+    public int initialStake;
+
+    @Label("Cycles")
+    @Description("The number of cycles the Player played, the duration of the session in the Simulator's terms")
+    public int cycles;
+
+    @Label("Maximum")
+    @Description("The largest stake of the Player after any cycle")
+    public int maximum;
+
+    @Label("Final Stake")
+    public int finalStake;
+}
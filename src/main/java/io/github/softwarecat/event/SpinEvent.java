@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.event;
+
+import jdk.jfr.*;
+
+/**
+ * SpinEvent is a Java Flight Recorder event covering a single cycle of a Game: placing the bets, the spin and the
+ * settlement of the bets. Cycles are far too frequent to record them all, so a Game records one in every
+ * spinEventInterval cycles; see Game.setSpinEventInterval().
+ */
+@Name("io.github.softwarecat.Spin")
+@Label("Spin")
+@Description("A sampled cycle of a Game: bets placed, spin and settlement")
+@Category("Roulette")
+@StackTrace(false)
+public class SpinEvent extends Event {
+
+    @Label("Bin")
+    @Description("The number of the winning Bin")
+    public int bin;
+
+    @Label("Players")
+    @Description("The number of Players who played this cycle")
+    public int players;
+
+    @Label("Bets")
+    @Description("The number of Bets settled")
+    public int bets;
+
+    @Label("Winning Bets")
+    public int winningBets;
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The model of Cancellation, who keeps a sequence of numbers starting at 1, 2, 3, 4, 5, 6 and bets the sum of its
+ * first and last numbers. A win cancels both numbers, a loss appends the amount lost, and an empty sequence starts
+ * over. Every distinct sequence reached is a state; sequences are interned, and their bets and successors computed
+ * once.
+ */
+public class CancellationModel implements StrategyModel {
+
+    /**
+     * The sequence at the start of a session, and after the sequence was cancelled completely.
+     */
+    protected static final int[] INITIAL_SEQUENCE = {1, 2, 3, 4, 5, 6};
+
+    /**
+     * The id of every sequence reached so far.
+     */
+    protected final Map<List<Integer>, Integer> ids = new HashMap<>();
+
+    /**
+     * The sequence of every state, by id.
+     */
+    protected final List<int[]> sequences = new ArrayList<>();
+
+    /**
+     * The bet of every state, by id.
+     */
+    protected int[] betAmounts = new int[64];
+
+    /**
+     * The state after a win and after a loss, by id, or -1 if not yet computed.
+     */
+    protected int[] wonStates = new int[64], lostStates = new int[64];
+
+    public CancellationModel() {
+        intern(INITIAL_SEQUENCE);
+    }
+
+    /**
+     * Finds the id of a sequence, assigning the next id if it was not seen before. An empty sequence starts over.
+     *
+     * @param sequence the sequence
+     * @return the id of the state with this sequence
+     */
+    protected int intern(int[] sequence) {
+        if (sequence.length == 0) {
+            sequence = INITIAL_SEQUENCE;
+        }
+
+        List<Integer> key = new ArrayList<>(sequence.length);
+        for (int number : sequence) {
+            key.add(number);
+        }
+
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = sequences.size();
+            ids.put(key, id);
+            sequences.add(sequence);
+
+            if (id == betAmounts.length) {
+                betAmounts = Arrays.copyOf(betAmounts, id * 2);
+                wonStates = Arrays.copyOf(wonStates, id * 2);
+                lostStates = Arrays.copyOf(lostStates, id * 2);
+            }
+            // The sum of two numbers of a sequence no longer fits in an int only when it can never be covered
+            long amount = sequence.length == 1 ? sequence[0] : (long) sequence[0] + sequence[sequence.length - 1];
+            betAmounts[id] = (int) Math.min(Integer.MAX_VALUE, amount);
+            wonStates[id] = -1;
+            lostStates[id] = -1;
+        }
+        return id;
+    }
+
+    /**
+     * @param state a state of the strategy
+     * @return a copy of the sequence of numbers in this state
+     */
+    public int[] getSequence(int state) {
+        return sequences.get(state).clone();
+    }
+
+    /**
+     * @return the number of states reached so far
+     */
+    public int getStateCount() {
+        return sequences.size();
+    }
+
+    @Override
+    public int initialState() {
+        return 0;
+    }
+
+    @Override
+    public int betAmount(int state) {
+        return betAmounts[state];
+    }
+
+    @Override
+    public int nextWon(int state) {
+        if (wonStates[state] < 0) {
+            int[] sequence = sequences.get(state);
+            int[] next = sequence.length <= 2 ? new int[0] : Arrays.copyOfRange(sequence, 1, sequence.length - 1);
+            // Interning may grow the arrays, so look the array up only afterwards
+            int id = intern(next);
+            wonStates[state] = id;
+        }
+        return wonStates[state];
+    }
+
+    @Override
+    public int nextLost(int state) {
+        if (lostStates[state] < 0) {
+            int[] sequence = sequences.get(state);
+            int[] next = Arrays.copyOf(sequence, sequence.length + 1);
+            next[sequence.length] = betAmounts[state];
+            int id = intern(next);
+            lostStates[state] = id;
+        }
+        return lostStates[state];
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import io.github.softwarecat.Game;
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.SplitMix64;
+
+import java.util.Arrays;
+
+/**
+ * ExactSolver computes the exact distribution of the duration, maximum stake and final stake of a session, for a
+ * strategy which bets on an even-money outcome and depends only on whether its bets won or lost. It gives the same
+ * metrics as Simulator, without sampling error and in a fraction of the time.
+ * <p>
+ * The solver walks forward one cycle at a time over the probability of every reachable combination of stake,
+ * maximum stake so far and strategy state. A combination in which the Player stops playing, or which reaches the
+ * session duration, ends the session with its probability. As in Simulator, the maximum is taken over the stakes
+ * after each cycle, and is the initial stake when the Player does not play at all.
+ */
+public class ExactSolver {
+
+    /**
+     * The probability that a bet on an even-money outcome wins on an American wheel: 18 of the 38 bins.
+     */
+    public static final double WIN_PROBABILITY = 18.0 / 38.0;
+
+    /**
+     * The number of bits of a stake, and of a maximum stake, in the key of a combination.
+     */
+    private static final int STAKE_BITS = 21;
+
+    /**
+     * The largest stake which can be solved.
+     */
+    public static final int MAX_STAKE = (1 << STAKE_BITS) - 1;
+
+    /**
+     * The number of bits of a strategy state in the key of a combination.
+     */
+    private static final int STATE_BITS = 63 - 2 * STAKE_BITS;
+
+    /**
+     * The duration value to use when initializing a Player for a session, as in Simulator.
+     */
+    public int sessionDuration = 250;
+
+    /**
+     * The stake value to use when initializing a Player for a session, as in Simulator.
+     */
+    public int initialStake = Game.TABLE_MINIMUM * 100;
+
+    /**
+     * The probability that a bet wins.
+     */
+    public double winProbability = WIN_PROBABILITY;
+
+    /**
+     * The largest number of combinations a single cycle may reach. Strategies with a large state, like Cancellation,
+     * reach exponentially many combinations in long sessions; those are better left to Simulator.
+     */
+    public int maxCombinations = 1 << 22;
+
+    public double meanDuration;
+
+    public double stdDuration;
+
+    public double meanMaximum;
+
+    public double stdMaximum;
+
+    /**
+     * The strategy being solved.
+     */
+    protected final StrategyModel MODEL;
+
+    /**
+     * The probability of every duration, indexed by duration.
+     */
+    protected double[] durations = new double[0];
+
+    /**
+     * The probability of every maximum stake, indexed by stake.
+     */
+    protected double[] maxima = new double[0];
+
+    /**
+     * The probability of every final stake, indexed by stake.
+     */
+    protected double[] finalStakes = new double[0];
+
+    /**
+     * Creates a solver for the given strategy.
+     *
+     * @param model the strategy to solve
+     */
+    public ExactSolver(StrategyModel model) {
+        this.MODEL = model;
+    }
+
+    /**
+     * Creates a solver for the strategy of the given type of Player.
+     *
+     * @param playerType the type of Player to solve
+     * @throws IllegalArgumentException if the strategy cannot be solved exactly
+     */
+    public ExactSolver(PlayerType playerType) {
+        this(StrategyModelFactory.getStrategyModel(playerType));
+    }
+
+    /**
+     * Computes the distributions of a session, and the mean and standard deviation of its duration and maximum.
+     *
+     * @throws IllegalStateException if a stake, the number of strategy states or the number of combinations grows
+     *                               beyond what can be solved
+     */
+    public void solve() {
+        if (initialStake < 0 || initialStake > MAX_STAKE) {
+            throw new IllegalStateException("The initial stake must be between 0 and " + MAX_STAKE);
+        }
+
+        durations = new double[sessionDuration + 1];
+        maxima = new double[initialStake + 1];
+        finalStakes = new double[initialStake + 1];
+
+        // No stake has been recorded before the first cycle, and stakes are never negative, so zero stands for none
+        StateMap current = new StateMap();
+        StateMap next = new StateMap();
+        current.add(key(initialStake, 0, MODEL.initialState()), 1);
+
+        for (int cycle = 0; current.size > 0; cycle++) {
+            next.clear();
+            for (int i = 0; i < current.keys.length; i++) {
+                long key = current.keys[i];
+                if (key == StateMap.EMPTY) {
+                    continue;
+                }
+                double probability = current.values[i];
+                int stake = (int) (key >>> (STAKE_BITS + STATE_BITS));
+                int maximum = (int) (key >>> STATE_BITS) & MAX_STAKE;
+                int state = (int) (key & ((1L << STATE_BITS) - 1));
+
+                int amount = MODEL.betAmount(state);
+                if (cycle == sessionDuration || amount > stake) {
+                    durations[cycle] += probability;
+                    maxima = add(maxima, cycle == 0 ? initialStake : maximum, probability);
+                    finalStakes = add(finalStakes, stake, probability);
+                    continue;
+                }
+
+                int won = stake + amount;
+                next.add(key(won, Math.max(maximum, won), MODEL.nextWon(state)), probability * winProbability);
+                int lost = stake - amount;
+                next.add(key(lost, Math.max(maximum, lost), MODEL.nextLost(state)), probability * (1 - winProbability));
+            }
+
+            if (next.size > maxCombinations) {
+                throw new IllegalStateException("More than " + maxCombinations + " combinations after " + (cycle + 1)
+                        + " cycles; use Simulator instead");
+            }
+
+            StateMap swap = current;
+            current = next;
+            next = swap;
+        }
+
+        meanDuration = mean(durations);
+        stdDuration = Math.sqrt(variance(durations, meanDuration));
+
+        meanMaximum = mean(maxima);
+        stdMaximum = Math.sqrt(variance(maxima, meanMaximum));
+    }
+
+    private static long key(int stake, int maximum, int state) {
+        if (stake > MAX_STAKE || maximum > MAX_STAKE) {
+            throw new IllegalStateException("Stakes above " + MAX_STAKE + " cannot be solved");
+        }
+        if (state >= 1 << STATE_BITS) {
+            throw new IllegalStateException("The strategy has too many states to be solved");
+        }
+        return ((long) stake << (STAKE_BITS + STATE_BITS)) | ((long) maximum << STATE_BITS) | state;
+    }
+
+    private static double[] add(double[] distribution, int value, double probability) {
+        if (value >= distribution.length) {
+            distribution = Arrays.copyOf(distribution, Math.max(value + 1, distribution.length * 2));
+        }
+        distribution[value] += probability;
+        return distribution;
+    }
+
+    private static double mean(double[] distribution) {
+        double mean = 0;
+        for (int value = 0; value < distribution.length; value++) {
+            mean += value * distribution[value];
+        }
+        return mean;
+    }
+
+    private static double variance(double[] distribution, double mean) {
+        double variance = 0;
+        for (int value = 0; value < distribution.length; value++) {
+            variance += (value - mean) * (value - mean) * distribution[value];
+        }
+        return variance;
+    }
+
+    /**
+     * @return the probability of every session duration, indexed by duration
+     */
+    public double[] getDurationDistribution() {
+        return durations.clone();
+    }
+
+    /**
+     * @return the probability of every maximum stake, indexed by stake
+     */
+    public double[] getMaximumDistribution() {
+        return maxima.clone();
+    }
+
+    /**
+     * @return the probability of every final stake, indexed by stake
+     */
+    public double[] getFinalStakeDistribution() {
+        return finalStakes.clone();
+    }
+
+    /**
+     * StateMap maps the keys of combinations to their probability with open addressing, so that a cycle over
+     * millions of combinations does not box a key for each.
+     */
+    private static class StateMap {
+
+        /**
+         * The key of an unused slot. Keys have 63 bits, so no combination has this key.
+         */
+        private static final long EMPTY = -1;
+
+        private long[] keys = new long[1024];
+
+        private double[] values = new double[1024];
+
+        private int size = 0;
+
+        private StateMap() {
+            Arrays.fill(keys, EMPTY);
+        }
+
+        private void add(long key, double probability) {
+            int mask = keys.length - 1;
+            int slot = (int) (SplitMix64.mix(key) & mask);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                values[slot] = probability;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+            } else {
+                values[slot] += probability;
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new double[oldKeys.length * 2];
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    add(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import java.util.Arrays;
+
+/**
+ * The model of Fibonacci, who bets the next Fibonacci number after every loss (1, 1, 2, 3, 5, ...) and returns to 1
+ * after a win. The state is the number of losses since the last win.
+ */
+public class FibonacciModel implements StrategyModel {
+
+    /**
+     * The bet in each state computed so far, capped at Integer.MAX_VALUE.
+     */
+    protected int[] amounts = {1, 1};
+
+    @Override
+    public int initialState() {
+        return 0;
+    }
+
+    @Override
+    public int betAmount(int state) {
+        if (state >= amounts.length) {
+            int[] grown = Arrays.copyOf(amounts, Math.max(state + 1, amounts.length * 2));
+            for (int i = amounts.length; i < grown.length; i++) {
+                // Bets which do not fit in an int can never be covered by the stake
+                grown[i] = (int) Math.min(Integer.MAX_VALUE, (long) grown[i - 1] + grown[i - 2]);
+            }
+            amounts = grown;
+        }
+        return amounts[state];
+    }
+
+    @Override
+    public int nextWon(int state) {
+        return 0;
+    }
+
+    @Override
+    public int nextLost(int state) {
+        return state + 1;
+    }
+}
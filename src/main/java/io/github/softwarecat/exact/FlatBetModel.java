@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import io.github.softwarecat.Game;
+
+/**
+ * The model of Passenger57, who always bets the table minimum on black. It has a single state.
+ */
+public class FlatBetModel implements StrategyModel {
+
+    /**
+     * The amount of every bet.
+     */
+    protected final int BET_AMOUNT;
+
+    public FlatBetModel() {
+        this(Game.TABLE_MINIMUM);
+    }
+
+    public FlatBetModel(int betAmount) {
+        this.BET_AMOUNT = betAmount;
+    }
+
+    @Override
+    public int initialState() {
+        return 0;
+    }
+
+    @Override
+    public int betAmount(int state) {
+        return BET_AMOUNT;
+    }
+
+    @Override
+    public int nextWon(int state) {
+        return 0;
+    }
+
+    @Override
+    public int nextLost(int state) {
+        return 0;
+    }
+}
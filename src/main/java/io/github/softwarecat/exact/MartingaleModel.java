@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import io.github.softwarecat.Game;
+
+/**
+ * The model of Martingale, who doubles the bet after every loss and returns to the base bet after a win. The state
+ * is the number of losses since the last win.
+ */
+public class MartingaleModel implements StrategyModel {
+
+    /**
+     * The bet after a win.
+     */
+    protected final int BASE_BET = Game.TABLE_MINIMUM;
+
+    @Override
+    public int initialState() {
+        return 0;
+    }
+
+    @Override
+    public int betAmount(int state) {
+        // Bets which do not fit in an int can never be covered by the stake
+        return state < 31 ? (int) Math.min(Integer.MAX_VALUE, (long) BASE_BET << state) : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int nextWon(int state) {
+        return 0;
+    }
+
+    @Override
+    public int nextLost(int state) {
+        return state + 1;
+    }
+}
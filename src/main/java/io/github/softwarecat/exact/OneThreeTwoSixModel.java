@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import io.github.softwarecat.Game;
+
+/**
+ * The model of OneThreeTwoSix, who bets 1, 3, 2 and 6 times the base bet on consecutive wins and starts over after
+ * a loss or after the fourth win. The state is the number of consecutive wins.
+ */
+public class OneThreeTwoSixModel implements StrategyModel {
+
+    /**
+     * The multiple of the base bet in each state.
+     */
+    protected static final int[] MULTIPLIERS = {1, 3, 2, 6};
+
+    /**
+     * The bet in the first state.
+     */
+    protected final int BASE_BET = Game.TABLE_MINIMUM;
+
+    @Override
+    public int initialState() {
+        return 0;
+    }
+
+    @Override
+    public int betAmount(int state) {
+        return BASE_BET * MULTIPLIERS[state];
+    }
+
+    @Override
+    public int nextWon(int state) {
+        return (state + 1) % MULTIPLIERS.length;
+    }
+
+    @Override
+    public int nextLost(int state) {
+        return 0;
+    }
+}
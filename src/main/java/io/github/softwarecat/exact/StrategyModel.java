@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+/**
+ * StrategyModel describes a betting strategy on an even-money outcome as a state machine, so that it can be solved
+ * exactly instead of simulated. The strategy must depend only on whether its previous bets won or lost. States are
+ * identified by small non-negative integers.
+ */
+public interface StrategyModel {
+
+    /**
+     * @return the state of the strategy at the start of a session
+     */
+    int initialState();
+
+    /**
+     * @param state a state of the strategy
+     * @return the amount the strategy bets in this state
+     */
+    int betAmount(int state);
+
+    /**
+     * @param state a state of the strategy
+     * @return the state of the strategy after its bet in this state won
+     */
+    int nextWon(int state);
+
+    /**
+     * @param state a state of the strategy
+     * @return the state of the strategy after its bet in this state lost
+     */
+    int nextLost(int state);
+}
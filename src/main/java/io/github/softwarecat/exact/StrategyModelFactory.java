@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import io.github.softwarecat.player.PlayerType;
+
+public class StrategyModelFactory {
+
+    /**
+     * Creates the model of a betting strategy. Only strategies which bet on an even-money outcome and depend only on
+     * whether their bets won or lost can be modelled.
+     *
+     * @param type the type of Player to model
+     * @return a new model of the strategy
+     * @throws IllegalArgumentException if the strategy cannot be modelled
+     */
+    public static StrategyModel getStrategyModel(PlayerType type) {
+        switch (type) {
+            case CANCELLATION:
+                return new CancellationModel();
+            case FIBONACCI:
+                return new FibonacciModel();
+            case MARTINGALE:
+                return new MartingaleModel();
+            case ONE_THREE_TWO_SIX:
+                return new OneThreeTwoSixModel();
+            case PASSENGER57:
+                return new FlatBetModel();
+            default:
+                throw new IllegalArgumentException(type + " cannot be solved exactly");
+        }
+    }
+}
@@ -26,10 +26,6 @@ package io.github.softwarecat.player;
 
 import io.github.softwarecat.*;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.List;
-
 /**
  * Cancellation uses the cancellation betting system. This player allocates their available budget into a
  * sequence of bets that have an accelerating potential gain as well as recouping any losses.
@@ -45,7 +41,12 @@ public class Cancellation extends Player {
      * This Deque keeps the bet amounts; wins are removed from this list and losses are appended to this list. The
      * current bet is the first value plus the last value.
      */
-    protected Deque<Integer> sequence = new ArrayDeque<>();
+    protected final IntDeque sequence = new IntDeque(64);
+
+    /**
+     * The Bet placed every round, updated with the current amount rather than created anew.
+     */
+    protected final Bet BET;
 
     /**
      * This uses the Cancellation.resetSequence() method to initialize the sequence of numbers
@@ -58,7 +59,8 @@ public class Cancellation extends Player {
 
         resetSequence();
 
-        OUTCOME = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        OUTCOME = table.WHEEL.getOutcomes(BetCategory.BLACK).get(0);
+        BET = new Bet(calcBetAmount(), OUTCOME, this);
     }
 
     @Override
@@ -73,8 +75,8 @@ public class Cancellation extends Player {
      */
     @Override
     public void placeBets() throws InvalidBetException {
-        Bet bet = new Bet(calcBetAmount(), OUTCOME, this);
-        table.placeBet(bet);
+        BET.amountBet = calcBetAmount();
+        table.placeBet(BET);
     }
 
     @Override
@@ -92,8 +94,12 @@ public class Cancellation extends Player {
     public void win(Bet bet) {
         super.win(bet);
 
-        sequence.pollFirst();
-        sequence.pollLast();
+        if (!sequence.isEmpty()) {
+            sequence.pollFirst();
+        }
+        if (!sequence.isEmpty()) {
+            sequence.pollLast();
+        }
     }
 
     /**
@@ -106,15 +112,18 @@ public class Cancellation extends Player {
     public void lose(Bet bet) {
         super.lose(bet);
 
-        sequence.add(bet.amountBet);
+        sequence.addLast(bet.amountBet);
     }
 
     /**
      * Puts the initial sequence of six Integer instances into the sequence variable. These Integers are built
-     * from the values 1 through 6.
+     * from the values 1 through 6, in units of the base bet.
      */
     protected void resetSequence() {
-        sequence = new ArrayDeque<>(List.of(1, 2, 3, 4, 5, 6));
+        sequence.clear();
+        for (int i = 1; i <= 6; i++) {
+            sequence.addLast(i * baseBet);
+        }
     }
 
     protected int calcBetAmount() {
@@ -123,10 +132,9 @@ public class Cancellation extends Player {
         }
 
         if (sequence.size() == 1) {
-            return sequence.peek();
+            return sequence.peekFirst();
         } else {
-            return (sequence.peekFirst() == null ? 0 : sequence.peekFirst()) +
-                    (sequence.peekLast() == null ? 0 : sequence.peekLast());
+            return sequence.peekFirst() + sequence.peekLast();
         }
     }
 }
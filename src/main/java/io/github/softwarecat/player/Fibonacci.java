@@ -38,15 +38,21 @@ public class Fibonacci extends Player {
     protected final Outcome BLACK;
 
     /**
-     * This is the most recent bet amount. Initially, this is 1.
+     * This is the most recent bet amount, in units of the base bet. Initially, this is 1.
      */
     protected int current = 1;
 
     /**
-     * This is the bet amount previous to the most recent bet amount. Initially, this is zero.
+     * This is the bet amount previous to the most recent bet amount, in units of the base bet. Initially, this is
+     * zero.
      */
     protected int previous = 0;
 
+    /**
+     * The Bet placed every round, updated with the current amount rather than created anew.
+     */
+    protected final Bet BET;
+
     /**
      * Initialize the Fibonacci player.
      *
@@ -55,17 +61,19 @@ public class Fibonacci extends Player {
     public Fibonacci(Table table) {
         super(table);
 
-        BLACK = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        BLACK = table.WHEEL.getOutcomes(BetCategory.BLACK).get(0);
+        BET = new Bet(current, BLACK, this);
     }
 
     @Override
     public boolean playing() {
-        return (current <= stake) && (roundsToGo > 0);
+        return (current * baseBet <= stake) && (roundsToGo > 0);
     }
 
     @Override
     public void placeBets() throws InvalidBetException {
-        table.placeBet(new Bet(current, BLACK, this));
+        BET.amountBet = current * baseBet;
+        table.placeBet(BET);
     }
 
     @Override
@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.player;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IntDeque is a double-ended queue of primitive int values, kept in a circular array. Unlike a Deque of Integer, it
+ * does not box its values, so adding and removing values does not allocate once the array is large enough.
+ */
+public class IntDeque {
+
+    /**
+     * The values, starting at head and wrapping around the end of the array.
+     */
+    protected int[] values;
+
+    /**
+     * The index of the first value.
+     */
+    protected int head = 0;
+
+    /**
+     * The number of values in the deque.
+     */
+    protected int size = 0;
+
+    /**
+     * Creates an empty deque.
+     */
+    public IntDeque() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty deque with room for the given number of values.
+     *
+     * @param capacity the initial capacity
+     */
+    public IntDeque(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Appends a value to the end of the deque.
+     *
+     * @param value the value to append
+     */
+    public void addLast(int value) {
+        if (size == values.length) {
+            int[] grown = new int[values.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = values[(head + i) % values.length];
+            }
+            values = grown;
+            head = 0;
+        }
+        values[(head + size) % values.length] = value;
+        size++;
+    }
+
+    /**
+     * Removes and returns the first value.
+     *
+     * @return the first value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int pollFirst() {
+        int value = peekFirst();
+        head = (head + 1) % values.length;
+        size--;
+        return value;
+    }
+
+    /**
+     * Removes and returns the last value.
+     *
+     * @return the last value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int pollLast() {
+        int value = peekLast();
+        size--;
+        return value;
+    }
+
+    /**
+     * @return the first value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int peekFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return values[head];
+    }
+
+    /**
+     * @return the last value
+     * @throws NoSuchElementException if the deque is empty
+     */
+    public int peekLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return values[(head + size - 1) % values.length];
+    }
+
+    /**
+     * @return the number of values in the deque
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the deque holds no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all values, keeping the array for reuse.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * @return string of the form ‘[value, value, ...]’
+     */
+    @Override
+    public String toString() {
+        int[] ordered = new int[size];
+        for (int i = 0; i < size; i++) {
+            ordered[i] = values[(head + i) % values.length];
+        }
+        return Arrays.toString(ordered);
+    }
+}
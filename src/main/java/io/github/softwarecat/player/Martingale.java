@@ -34,7 +34,10 @@ public class Martingale extends Player {
 
     protected final Outcome BLACK;
 
-    protected int baseBet = Game.TABLE_MINIMUM;
+    /**
+     * The Bet placed every round, updated with the current amount rather than created anew.
+     */
+    protected final Bet BET;
 
     /**
      * The number of losses. This is the number of times to double the bet.
@@ -55,7 +58,8 @@ public class Martingale extends Player {
      */
     public Martingale(Table table) {
         super(table);
-        BLACK = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        BLACK = table.WHEEL.getOutcomes(BetCategory.BLACK).get(0);
+        BET = new Bet(baseBet, BLACK, this);
     }
 
     @Override
@@ -70,7 +74,8 @@ public class Martingale extends Player {
      */
     @Override
     public void placeBets() throws InvalidBetException {
-        table.placeBet(new Bet(baseBet * betMultiple, BLACK, this));
+        BET.amountBet = baseBet * betMultiple;
+        table.placeBet(BET);
     }
 
     @Override
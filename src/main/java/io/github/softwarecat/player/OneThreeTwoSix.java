@@ -47,17 +47,17 @@ public class OneThreeTwoSix extends Player {
      */
     protected final StateFactory STATE_FACTORY = new StateFactory(this);
 
-    /**
-     * The Base bet.
-     */
-    protected int baseBet = Game.TABLE_MINIMUM;
-
     /**
      * This is the current state of the 1-3-2-6 betting system. It will be an instance of a subclass of
      * OneThreeTwoSix.State. This will be one of the four states: No Wins, One Win, Two Wins or Three Wins.
      */
     protected State state;
 
+    /**
+     * The Bet placed every round, updated by the current state rather than created anew.
+     */
+    protected final Bet BET;
+
     /**
      * Initializes the state and the outcome. The state is set to the initial state of an instance of
      * Player1326NoWins. The outcome is set to some even money proposition, for example "Black".
@@ -67,14 +67,15 @@ public class OneThreeTwoSix extends Player {
     public OneThreeTwoSix(Table table) {
         super(table);
 
-        OUTCOME = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
+        OUTCOME = table.WHEEL.getOutcomes(BetCategory.BLACK).get(0);
+        BET = new Bet(baseBet, OUTCOME, this);
 
         state = new NoWins(this);
     }
 
     @Override
     public boolean playing() {
-        return (stake >= state.currentBet().amountBet) && (roundsToGo > 0);
+        return (stake >= state.currentAmount()) && (roundsToGo > 0);
     }
 
     /**
@@ -90,7 +91,7 @@ public class OneThreeTwoSix extends Player {
 
     @Override
     public void newRound() {
-        state = new NoWins(this);
+        state = STATE_FACTORY.getState(StateType.NO_WINS);
     }
 
     /**
@@ -223,13 +224,22 @@ public class OneThreeTwoSix extends Player {
         }
 
         /**
-         * Constructs a new Bet from the player’s preferred Outcome. Each subclass has a different multiplier used when
-         * creating this Bet.
+         * Computes the amount to bet in this state. Each subclass has a different multiplier of the base bet.
+         *
+         * @return the amount to bet
+         */
+        public int currentAmount() {
+            return player.baseBet * multiplier;
+        }
+
+        /**
+         * Updates the player’s Bet on their preferred Outcome with the amount to bet in this state.
          *
          * @return the bet
          */
         public Bet currentBet() {
-            return new Bet(player.baseBet * multiplier, player.OUTCOME, player);
+            player.BET.amountBet = currentAmount();
+            return player.BET;
         }
 
         /**
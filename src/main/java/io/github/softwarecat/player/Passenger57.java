@@ -34,7 +34,10 @@ public class Passenger57 extends Player {
 
     protected final Outcome BLACK;
 
-    protected int baseBet = Game.TABLE_MINIMUM;
+    /**
+     * The Bet placed every round, updated with the current amount rather than created anew.
+     */
+    protected final Bet BET;
 
     /**
      * Constructs the Player with a specific Table for placing Bets.
@@ -45,11 +48,8 @@ public class Passenger57 extends Player {
     public Passenger57(Table table) {
         super(table);
 
-        BLACK = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("black")).get(0);
-    }
-
-    public int getBaseBet() {
-        return baseBet;
+        BLACK = table.WHEEL.getOutcomes(BetCategory.BLACK).get(0);
+        BET = new Bet(baseBet, BLACK, this);
     }
 
     @Override
@@ -59,7 +59,8 @@ public class Passenger57 extends Player {
 
     @Override
     public void placeBets() throws InvalidBetException {
-        table.placeBet(new Bet(baseBet, BLACK, this));
+        BET.amountBet = baseBet;
+        table.placeBet(BET);
     }
 
     @Override
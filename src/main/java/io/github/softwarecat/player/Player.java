@@ -25,6 +25,7 @@
 package io.github.softwarecat.player;
 
 import io.github.softwarecat.Bet;
+import io.github.softwarecat.Game;
 import io.github.softwarecat.InvalidBetException;
 import io.github.softwarecat.Outcome;
 import io.github.softwarecat.Table;
@@ -54,6 +55,12 @@ public abstract class Player {
      */
     protected Table table;
 
+    /**
+     * The smallest amount the player bets, from which their betting system scales every bet. It defaults to the
+     * table minimum of the Game.
+     */
+    protected int baseBet = Game.TABLE_MINIMUM;
+
     /**
      * Constructs the Player with a specific Table for placing Bets.
      * Since the table has access to the Wheel, we can use this wheel to extract Outcome objects.
@@ -64,6 +71,23 @@ public abstract class Player {
         this.table = table;
     }
 
+    public int getBaseBet() {
+        return baseBet;
+    }
+
+    /**
+     * Sets the smallest amount the player bets, such as the minimum of a Table with a higher minimum than the Game's.
+     * It takes effect from the next round.
+     *
+     * @param baseBet the base bet, positive
+     */
+    public void setBaseBet(int baseBet) {
+        if (baseBet <= 0) {
+            throw new IllegalArgumentException("baseBet must be positive");
+        }
+        this.baseBet = baseBet;
+    }
+
     /**
      * Returns true while the player is still active.
      *
@@ -25,9 +25,38 @@
 package io.github.softwarecat.player;
 
 import io.github.softwarecat.Table;
+import io.github.softwarecat.random.JdkRandomSource;
+import io.github.softwarecat.random.RandomSource;
+
+import java.util.Random;
 
 public class PlayerFactory {
     public static Player getPlayer(PlayerType type, Table table) {
+        return getPlayer(type, table, new Random());
+    }
+
+    /**
+     * Creates a Player of the given type. Players which make random decisions draw them from the given random
+     * number generator, so that callers can seed it and reproduce a session exactly.
+     *
+     * @param type  the type of Player to create
+     * @param table the table the Player bets on
+     * @param rng   the random number generator used by players with random strategies
+     * @return the new Player
+     */
+    public static Player getPlayer(PlayerType type, Table table, Random rng) {
+        return getPlayer(type, table, new JdkRandomSource(rng));
+    }
+
+    /**
+     * Creates a Player of the given type, drawing random decisions from the given source of random numbers.
+     *
+     * @param type  the type of Player to create
+     * @param table the table the Player bets on
+     * @param rng   the source of random numbers used by players with random strategies
+     * @return the new Player
+     */
+    public static Player getPlayer(PlayerType type, Table table, RandomSource rng) {
         switch (type) {
             case CANCELLATION:
                 return new Cancellation(table);
@@ -40,7 +69,7 @@ public class PlayerFactory {
             case PASSENGER57:
                 return new Passenger57(table);
             case RANDOM_CHOICE:
-                return new RandomChoice(table);
+                return new RandomChoice(table, rng);
             case SEVEN_REDS:
                 return new SevenReds(table);
             default:
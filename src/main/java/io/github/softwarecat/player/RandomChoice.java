@@ -25,6 +25,8 @@
 package io.github.softwarecat.player;
 
 import io.github.softwarecat.*;
+import io.github.softwarecat.random.JdkRandomSource;
+import io.github.softwarecat.random.RandomSource;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -39,7 +41,7 @@ public class RandomChoice extends Player {
      * A Random Number Generator which will return the next random number.
      * When writing unit tests, we will want to patch this with a mock object to return a known sequence of bets.
      */
-    protected final Random RNG;
+    protected final RandomSource RNG;
 
     /**
      * All possible outcomes.
@@ -47,9 +49,9 @@ public class RandomChoice extends Player {
     protected final List<Outcome> ALL_OUTCOMES;
 
     /**
-     * The Base bet.
+     * The Bet placed every round, updated with the chosen Outcome rather than created anew.
      */
-    protected int baseBet = Game.TABLE_MINIMUM;
+    protected final Bet BET;
 
     /**
      * This uses the super() construct to invoke the superclass constructor using the Table.
@@ -61,9 +63,23 @@ public class RandomChoice extends Player {
      * @param rng   the random number generator
      */
     public RandomChoice(Table table, Random rng) {
+        this(table, new JdkRandomSource(rng));
+    }
+
+    /**
+     * This uses the super() construct to invoke the superclass constructor using the Table.
+     * <p>
+     * It will also use the wheel associated with the table to get the set of bins. The set of bins is then used to create the
+     * pool of outcomes for creating bets.
+     *
+     * @param table the Table which will accept the bests
+     * @param rng   the source of random numbers used to choose bets
+     */
+    public RandomChoice(Table table, RandomSource rng) {
         super(table);
         RNG = rng;
         ALL_OUTCOMES = new ArrayList<>(table.WHEEL.getAllOutcomes().values());
+        BET = new Bet(baseBet, null, this);
     }
 
     /**
@@ -92,8 +108,9 @@ public class RandomChoice extends Player {
      */
     @Override
     public void placeBets() throws InvalidBetException {
-        Outcome outcomeToBet = ALL_OUTCOMES.get(RNG.nextInt(ALL_OUTCOMES.size()));
-        table.placeBet(new Bet(baseBet, outcomeToBet, this));
+        BET.outcome = ALL_OUTCOMES.get(RNG.nextInt(ALL_OUTCOMES.size()));
+        BET.amountBet = baseBet;
+        table.placeBet(BET);
     }
 
     @Override
@@ -24,7 +24,7 @@
 
 package io.github.softwarecat.player;
 
-import io.github.softwarecat.Game;
+import io.github.softwarecat.BetCategory;
 import io.github.softwarecat.InvalidBetException;
 import io.github.softwarecat.Outcome;
 import io.github.softwarecat.Table;
@@ -56,7 +56,7 @@ public class SevenReds extends Martingale {
      */
     public SevenReds(Table table) {
         super(table);
-        RED = table.WHEEL.getOutcomes(Game.BET_NAMES.getString("red")).get(0);
+        RED = table.WHEEL.getOutcomes(BetCategory.RED).get(0);
     }
 
     /**
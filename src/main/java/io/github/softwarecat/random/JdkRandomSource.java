@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+import java.util.Random;
+
+/**
+ * JdkRandomSource adapts a java.util.Random, producing exactly the same values as the wrapped Random. It is the
+ * default source, so that seeded simulations give the same results as before RandomSource was introduced.
+ */
+public class JdkRandomSource implements RandomSource {
+
+    /**
+     * The wrapped random number generator.
+     */
+    protected final Random RNG;
+
+    /**
+     * Wraps the given random number generator.
+     *
+     * @param rng the random number generator
+     */
+    public JdkRandomSource(Random rng) {
+        this.RNG = rng;
+    }
+
+    /**
+     * Creates a source wrapping a new java.util.Random with the given seed.
+     *
+     * @param seed the seed
+     */
+    public JdkRandomSource(long seed) {
+        this(new Random(seed));
+    }
+
+    @Override
+    public long nextLong() {
+        return RNG.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return RNG.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return RNG.nextInt(bound);
+    }
+
+    /**
+     * Draws a single value from the Random and expands it into the bounded values with SplitMix64, so that a bulk draw
+     * costs one atomic update of the seed of the Random rather than one per value. The values are reproducible from
+     * the seed of the Random, but differ from those of repeated calls to nextInt(bound).
+     *
+     * @param bound  the upper bound, which must be positive
+     * @param values the array to fill
+     * @param offset the index of the first element to fill
+     * @param length the number of elements to fill
+     */
+    @Override
+    public void nextInts(int bound, int[] values, int offset, int length) {
+        SplitMix64.nextInts(RNG.nextLong(), bound, values, offset, length);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        RNG.setSeed(seed);
+    }
+
+    @Override
+    public RandomSource split() {
+        return new JdkRandomSource(SplitMix64.mix(RNG.nextLong()));
+    }
+}
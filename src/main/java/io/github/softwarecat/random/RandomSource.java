@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+/**
+ * RandomSource is a source of random numbers for the Wheel and for players with random strategies. Implementations
+ * need not be thread-safe; every thread should use its own source, and split() gives a new source whose stream is
+ * statistically independent of this one.
+ */
+public interface RandomSource {
+
+    /**
+     * @return the next random 64-bit value
+     */
+    long nextLong();
+
+    /**
+     * @return the next random 32-bit value
+     */
+    default int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * Returns a value uniformly distributed between zero (inclusive) and bound (exclusive), without bias. The default
+     * uses Lemire's multiply-and-shift method: values which would make the result biased are rejected and drawn
+     * again, which happens with probability less than bound / 2^32.
+     *
+     * @param bound the upper bound, which must be positive
+     * @return the next random value below bound
+     */
+    default int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        long product = (nextInt() & 0xFFFFFFFFL) * bound;
+        int low = (int) product;
+        if (Integer.compareUnsigned(low, bound) < 0) {
+            int threshold = Integer.remainderUnsigned(-bound, bound);
+            while (Integer.compareUnsigned(low, threshold) < 0) {
+                product = (nextInt() & 0xFFFFFFFFL) * bound;
+                low = (int) product;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Fills part of an array with values uniformly distributed between zero (inclusive) and bound (exclusive), without
+     * bias. The default draws every value with nextInt(bound); sources whose state can be kept in local variables
+     * override it with a tighter loop drawing the same values.
+     *
+     * @param bound  the upper bound, which must be positive
+     * @param values the array to fill
+     * @param offset the index of the first element to fill
+     * @param length the number of elements to fill
+     */
+    default void nextInts(int bound, int[] values, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            values[i] = nextInt(bound);
+        }
+    }
+
+    /**
+     * Reseeds the source, so that it produces the same stream as a new source of the same type with this seed.
+     *
+     * @param seed the seed
+     */
+    void setSeed(long seed);
+
+    /**
+     * Creates a new source whose stream is statistically independent of the rest of this stream. Both sources can
+     * then be used by different threads.
+     *
+     * @return the new source
+     */
+    RandomSource split();
+}
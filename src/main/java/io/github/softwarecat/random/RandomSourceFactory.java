@@ -0,0 +1,49 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+public class RandomSourceFactory {
+
+    /**
+     * Creates a RandomSource of the given type with the given seed.
+     *
+     * @param type the type of RandomSource to create
+     * @param seed the seed
+     * @return the new RandomSource
+     */
+    public static RandomSource getRandomSource(RandomSourceType type, long seed) {
+        switch (type) {
+            case SPLITTABLE:
+                return new SplittableRandomSource(seed);
+            case SPLIT_MIX64:
+                return new SplitMix64(seed);
+            case XOSHIRO256_PLUS_PLUS:
+                return new Xoshiro256PlusPlus(seed);
+            case JDK:
+            default:
+                return new JdkRandomSource(seed);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+/**
+ * SplitMix64 is a small, fast random number generator with 64 bits of state. Unlike java.util.Random, it is not
+ * thread-safe and does no atomic update of its seed, so each thread must use its own instance.
+ */
+public class SplitMix64 implements RandomSource {
+
+    /**
+     * The increment of the state, the odd number closest to 2^64 divided by the golden ratio.
+     */
+    protected static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The state of the generator.
+     */
+    protected long state;
+
+    /**
+     * Creates a generator with the given seed.
+     *
+     * @param seed the seed
+     */
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * The SplitMix64 finalizer, which turns consecutive states into well mixed values.
+     *
+     * @param z the value to mix
+     * @return the mixed value
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    @Override
+    public void nextInts(int bound, int[] values, int offset, int length) {
+        state = nextInts(state, bound, values, offset, length);
+    }
+
+    /**
+     * Fills part of an array with bounded values from the SplitMix64 stream starting after the given state, exactly
+     * like nextInts() of a generator in that state, with the state in a local variable.
+     *
+     * @param state  the state of the generator
+     * @param bound  the upper bound, which must be positive
+     * @param values the array to fill
+     * @param offset the index of the first element to fill
+     * @param length the number of elements to fill
+     * @return the state of the generator after the values were drawn
+     */
+    static long nextInts(long state, int bound, int[] values, int offset, int length) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        // Lemire's method on the high 32 bits of every value, as in RandomSource.nextInt(int)
+        for (int i = offset, end = offset + length; i < end; i++) {
+            long product = (mix(state += GOLDEN_GAMMA) >>> 32) * bound;
+            int low = (int) product;
+            if (Integer.compareUnsigned(low, bound) < 0) {
+                int threshold = Integer.remainderUnsigned(-bound, bound);
+                while (Integer.compareUnsigned(low, threshold) < 0) {
+                    product = (mix(state += GOLDEN_GAMMA) >>> 32) * bound;
+                    low = (int) product;
+                }
+            }
+            values[i] = (int) (product >>> 32);
+        }
+        return state;
+    }
+
+    /**
+     * Returns a generator seeded from the next value of this one.
+     *
+     * @return the new generator
+     */
+    @Override
+    public SplitMix64 split() {
+        return new SplitMix64(mix(nextLong()));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * SplittableRandomSource adapts a java.util.SplittableRandom, whose split() is designed to give independent streams
+ * to the subtasks of a parallel computation.
+ */
+public class SplittableRandomSource implements RandomSource {
+
+    /**
+     * The wrapped random number generator. SplittableRandom cannot be reseeded, so setSeed() replaces it.
+     */
+    protected SplittableRandom rng;
+
+    /**
+     * Wraps the given random number generator.
+     *
+     * @param rng the random number generator
+     */
+    public SplittableRandomSource(SplittableRandom rng) {
+        this.rng = rng;
+    }
+
+    /**
+     * Creates a source wrapping a new java.util.SplittableRandom with the given seed.
+     *
+     * @param seed the seed
+     */
+    public SplittableRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    @Override
+    public long nextLong() {
+        return rng.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return rng.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return rng.nextInt(bound);
+    }
+
+    @Override
+    public void nextInts(int bound, int[] values, int offset, int length) {
+        SplittableRandom rng = this.rng;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            values[i] = rng.nextInt(bound);
+        }
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        rng = new SplittableRandom(seed);
+    }
+
+    @Override
+    public RandomSource split() {
+        return new SplittableRandomSource(rng.split());
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+/**
+ * Xoshiro256PlusPlus is the xoshiro256++ generator of Blackman and Vigna, with 256 bits of state and a period of
+ * 2^256 - 1. Its jump functions advance the state by 2^128 or 2^192 steps at the cost of a few hundred steps, so a
+ * single seed can be cut into non-overlapping streams, one per worker.
+ */
+public class Xoshiro256PlusPlus implements RandomSource {
+
+    /**
+     * The polynomial which advances the state by 2^128 steps.
+     */
+    private static final long[] JUMP = {
+            0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL
+    };
+
+    /**
+     * The polynomial which advances the state by 2^192 steps.
+     */
+    private static final long[] LONG_JUMP = {
+            0x76E15D3EFEFDCBBFL, 0xC5004E441C522FB3L, 0x77710069854EE241L, 0x39109BB02ACBE635L
+    };
+
+    /**
+     * The state of the generator, which is never all zero.
+     */
+    protected long s0, s1, s2, s3;
+
+    /**
+     * Creates a generator with the given seed, which is expanded to the full state with SplitMix64.
+     *
+     * @param seed the seed
+     */
+    public Xoshiro256PlusPlus(long seed) {
+        setSeed(seed);
+    }
+
+    /**
+     * Creates a generator with the given state, which must not be all zero.
+     *
+     * @param s0 the first word of the state
+     * @param s1 the second word of the state
+     * @param s2 the third word of the state
+     * @param s3 the fourth word of the state
+     */
+    public Xoshiro256PlusPlus(long s0, long s1, long s2, long s3) {
+        if ((s0 | s1 | s2 | s3) == 0) {
+            throw new IllegalArgumentException("The state must not be all zero");
+        }
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // SplitMix64 never returns four zeros in a row, so the state is valid
+        SplitMix64 expander = new SplitMix64(seed);
+        s0 = expander.nextLong();
+        s1 = expander.nextLong();
+        s2 = expander.nextLong();
+        s3 = expander.nextLong();
+    }
+
+    @Override
+    public long nextLong() {
+        long result = Long.rotateLeft(s0 + s3, 23) + s0;
+
+        long t = s1 << 17;
+        s2 ^= s0;
+        s3 ^= s1;
+        s1 ^= s2;
+        s0 ^= s3;
+        s2 ^= t;
+        s3 = Long.rotateLeft(s3, 45);
+
+        return result;
+    }
+
+    @Override
+    public void nextInts(int bound, int[] values, int offset, int length) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive");
+        }
+
+        // nextLong() and Lemire's method as in RandomSource.nextInt(int), with the state in local variables
+        long s0 = this.s0, s1 = this.s1, s2 = this.s2, s3 = this.s3;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            long product;
+            int low;
+            do {
+                long result = Long.rotateLeft(s0 + s3, 23) + s0;
+                long t = s1 << 17;
+                s2 ^= s0;
+                s3 ^= s1;
+                s1 ^= s2;
+                s0 ^= s3;
+                s2 ^= t;
+                s3 = Long.rotateLeft(s3, 45);
+
+                product = (result >>> 32) * bound;
+                low = (int) product;
+            } while (Integer.compareUnsigned(low, bound) < 0
+                    && Integer.compareUnsigned(low, Integer.remainderUnsigned(-bound, bound)) < 0);
+            values[i] = (int) (product >>> 32);
+        }
+        this.s0 = s0;
+        this.s1 = s1;
+        this.s2 = s2;
+        this.s3 = s3;
+    }
+
+    /**
+     * Advances the state by 2^128 steps. Calling jump() n times gives the start of the n-th of 2^128
+     * non-overlapping streams of length 2^128.
+     */
+    public void jump() {
+        jump(JUMP);
+    }
+
+    /**
+     * Advances the state by 2^192 steps, giving the start of the next of 2^64 streams, each long enough to be cut
+     * further with jump().
+     */
+    public void longJump() {
+        jump(LONG_JUMP);
+    }
+
+    private void jump(long[] polynomial) {
+        long t0 = 0, t1 = 0, t2 = 0, t3 = 0;
+        for (long word : polynomial) {
+            for (int b = 0; b < 64; b++) {
+                if ((word & (1L << b)) != 0) {
+                    t0 ^= s0;
+                    t1 ^= s1;
+                    t2 ^= s2;
+                    t3 ^= s3;
+                }
+                nextLong();
+            }
+        }
+        s0 = t0;
+        s1 = t1;
+        s2 = t2;
+        s3 = t3;
+    }
+
+    /**
+     * Returns a generator which continues this stream, and jumps this generator 2^128 steps ahead. Successive splits
+     * therefore give non-overlapping streams of 2^128 values.
+     *
+     * @return a generator for the next 2^128 values of this stream
+     */
+    @Override
+    public Xoshiro256PlusPlus split() {
+        Xoshiro256PlusPlus copy = new Xoshiro256PlusPlus(s0, s1, s2, s3);
+        jump();
+        return copy;
+    }
+}
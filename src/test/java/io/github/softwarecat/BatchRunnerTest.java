@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.RandomSourceType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BatchRunnerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    protected int main(String... args) {
+        return BatchRunner.main(args, new PrintStream(out), new PrintStream(err));
+    }
+
+    protected List<String> lines() {
+        return Arrays.asList(out.toString().split("\n"));
+    }
+
+    /**
+     * @return a result line without its last column, the time taken
+     */
+    protected String withoutTime(String line) {
+        return line.substring(0, line.lastIndexOf(','));
+    }
+
+    @Test
+    public void parse() {
+        BatchRunner.Run run = BatchRunner.Run.parse(
+                "playerType=MARTINGALE  randomSource=XOSHIRO256_PLUS_PLUS seed=-7 initialStake=50 "
+                        + "sessionDuration=20 samples=300", 3);
+
+        assertEquals(3, run.INDEX);
+        assertEquals(PlayerType.MARTINGALE, run.playerType);
+        assertEquals(RandomSourceType.XOSHIRO256_PLUS_PLUS, run.randomSourceType);
+        assertEquals(-7, run.seed);
+        assertEquals(50, run.initialStake);
+        assertEquals(20, run.sessionDuration);
+        assertEquals(300, run.samples);
+
+        BatchRunner.Run defaults = BatchRunner.Run.parse("playerType=FIBONACCI", 0);
+        assertEquals(RandomSourceType.JDK, defaults.randomSourceType);
+        assertEquals(250, defaults.sessionDuration);
+    }
+
+    @Test
+    public void parseInvalid() {
+        for (String definition : new String[]{"samples=10", "playerType=NOBODY", "playerType=FIBONACCI samples=x",
+                "playerType=FIBONACCI colour=red", "playerType"}) {
+            try {
+                BatchRunner.Run.parse(definition, 4);
+                fail(definition + " should not parse");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().startsWith("Run 4: "));
+            }
+        }
+    }
+
+    @Test
+    public void batchFile() throws IOException, InvalidBetException {
+        Path batch = folder.newFile().toPath();
+        Files.write(batch, Arrays.asList(
+                "# Nightly runs",
+                "playerType=FIBONACCI seed=42 sessionDuration=50 samples=2000",
+                "",
+                "playerType=MARTINGALE seed=1 sessionDuration=30 samples=500"));
+
+        assertEquals(0, main("--batch", batch.toString(), "--run", "playerType=PASSENGER57 samples=100"));
+
+        List<String> lines = lines();
+        assertEquals(4, lines.size());
+        assertEquals(BatchRunner.HEADER, lines.get(0));
+        assertTrue(lines.get(1).startsWith("0,FIBONACCI,JDK,42,100,50,2000,ok,"));
+        assertTrue(lines.get(2).startsWith("1,MARTINGALE,JDK,1,100,30,500,ok,"));
+        assertTrue(lines.get(3).startsWith("2,PASSENGER57,JDK,0,100,250,100,ok,"));
+        assertEquals(BatchRunner.HEADER.split(",").length, lines.get(1).split(",").length);
+
+        // A run gives the statistics of the same ParallelSimulator gather
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+        simulator.sessionDuration = 50;
+        simulator.samples = 2000;
+        simulator.gather();
+        assertEquals(String.valueOf(simulator.meanDuration), lines.get(1).split(",")[8]);
+        assertEquals(String.valueOf(simulator.stdMaximum), lines.get(1).split(",")[13]);
+    }
+
+    @Test
+    public void parallelRuns() throws IOException {
+        Path sequential = folder.newFile().toPath();
+        Path parallel = folder.newFile().toPath();
+        String[] runs = {"--run", "playerType=FIBONACCI seed=1 samples=300", "--run",
+                "playerType=CANCELLATION seed=2 samples=300", "--run", "playerType=SEVEN_REDS seed=3 samples=300"};
+
+        String[] args = Arrays.copyOf(runs, runs.length + 2);
+        args[runs.length] = "--output";
+        args[runs.length + 1] = sequential.toString();
+        assertEquals(0, main(args));
+
+        args = Arrays.copyOf(runs, runs.length + 4);
+        args[runs.length] = "--output";
+        args[runs.length + 1] = parallel.toString();
+        args[runs.length + 2] = "--parallel";
+        args[runs.length + 3] = "3";
+        assertEquals(0, main(args));
+
+        List<String> expected = Files.readAllLines(sequential);
+        List<String> actual = Files.readAllLines(parallel);
+        assertEquals(4, actual.size());
+        for (int i = 1; i < expected.size(); i++) {
+            assertEquals(withoutTime(expected.get(i)), withoutTime(actual.get(i)));
+        }
+    }
+
+    @Test
+    public void cache() throws IOException {
+        String cache = folder.newFolder().toString();
+        String run = "playerType=FIBONACCI seed=5 sessionDuration=40 samples=1500";
+
+        assertEquals(0, main("--run", run, "--cache", cache));
+        String first = withoutTime(lines().get(1));
+        out.reset();
+        assertEquals(0, main("--run", run, "--cache", cache));
+
+        assertEquals(first, withoutTime(lines().get(1)));
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertEquals(2, main("--run"));
+        assertEquals(2, main("--output", "results.csv"));
+        assertEquals(2, main("--run", "playerType=FIBONACCI", "--parallel", "0"));
+        assertEquals(2, main("--color", "red"));
+        assertTrue(err.toString().contains("Usage: App"));
+        assertEquals("", out.toString());
+    }
+}
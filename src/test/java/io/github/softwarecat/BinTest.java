@@ -28,6 +28,11 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class BinTest {
 
@@ -43,4 +48,89 @@ public class BinTest {
 
         Bin bin3 = new Bin(new ArrayList<>(Arrays.asList(outcomes)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void containsById() {
+        Wheel wheel = new Wheel();
+        Outcome red = new Outcome("Red", 1);
+        Outcome black = new Outcome("Black", 1);
+        wheel.addOutcome(1, red);
+        wheel.addOutcome(2, black);
+
+        Bin bin = wheel.getBin(1);
+        assertTrue(bin.contains(red.getId()));
+        assertFalse(bin.contains(black.getId()));
+        assertTrue(bin.contains(red));
+        assertFalse(bin.contains(black));
+
+        // An Outcome without an id is found by name
+        assertTrue(bin.contains(new Outcome("Red", 1)));
+    }
+
+    @Test
+    public void containsFromAnotherWheel() {
+        // Black and Red both get id 1, on differently built wheels
+        Wheel first = new Wheel();
+        Outcome black = new Outcome("Black", 1);
+        first.addOutcome(1, new Outcome("Odd", 1));
+        first.addOutcome(2, black);
+
+        Wheel second = new Wheel();
+        Outcome red = new Outcome("Red", 1);
+        second.addOutcome(1, new Outcome("Even", 1));
+        second.addOutcome(0, red);
+        assertEquals(black.getId(), red.getId());
+
+        Bin bin = second.getBin(0);
+        assertTrue(bin.contains(red));
+        assertFalse(bin.contains(black));
+        assertTrue(bin.contains(new Outcome("Red", 1)));
+
+        // Added to the Bin directly, an Outcome of another wheel is kept out of the bitset
+        Outcome odd = first.getOutcomes("Odd").get(0);
+        bin.add(odd);
+        assertTrue(bin.contains(odd));
+        assertTrue(bin.contains(red));
+        assertFalse(bin.contains(black));
+        assertTrue(bin.remove(odd));
+        assertFalse(bin.contains(odd));
+        assertTrue(bin.contains(red));
+
+        // A foreign Outcome equal to one in the Bin is found, like in any Set
+        Outcome otherRed = new Outcome("Red", 1);
+        first.addOutcome(3, otherRed);
+        assertTrue(bin.contains(otherRed));
+    }
+
+    @Test
+    public void containsWithoutId() {
+        Bin bin = new Bin(new Outcome[]{new Outcome("Name 1", 1)});
+
+        Wheel wheel = new Wheel();
+        Outcome outcome = new Outcome("Name 1", 1);
+        wheel.addOutcome(0, outcome);
+
+        // The Bin holds an Outcome without an id, so it must fall back to the Set
+        assertTrue(bin.contains(outcome));
+    }
+
+    @Test
+    public void remove() {
+        Wheel wheel = new Wheel();
+        Outcome first = new Outcome("Name 1", 1);
+        Outcome second = new Outcome("Name 2", 1);
+        wheel.addOutcome(0, first);
+        wheel.addOutcome(0, second);
+
+        Bin bin = (Bin) wheel.getBin(0).clone();
+        assertTrue(bin.remove(new Outcome("Name 1", 1)));
+        assertFalse(bin.contains(first));
+        assertTrue(wheel.getBin(0).contains(first));
+
+        Iterator<Outcome> iterator = bin.iterator();
+        iterator.next();
+        iterator.remove();
+        assertFalse(bin.contains(second));
+        assertEquals(0, bin.size());
+    }
+}
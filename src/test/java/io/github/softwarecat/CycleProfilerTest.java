@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.CycleProfiler.Phase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CycleProfilerTest {
+
+    @Test
+    public void record() {
+        CycleProfiler profiler = new CycleProfiler();
+        profiler.record(1000, 1100, 1110, 1150, 1160, 1170);
+        profiler.record(2000, 2300, 2310, 2350, 2360, 2370);
+
+        assertEquals(2, profiler.getCycles());
+        assertEquals(2, profiler.getCount(Phase.SPIN));
+        assertEquals(400, profiler.getTotalNanos(Phase.PLACE_BETS));
+        assertEquals(200, profiler.getMeanNanos(Phase.PLACE_BETS), 1e-9);
+        assertEquals(80, profiler.getTotalNanos(Phase.SETTLEMENT));
+        // Two cycles from 1000 to 2370 ns
+        assertEquals(2 / 1370e-9, profiler.getSpinsPerSecond(), 1);
+    }
+
+    @Test
+    public void percentiles() {
+        CycleProfiler profiler = new CycleProfiler();
+        for (int i = 0; i < 99; i++) {
+            profiler.record(Phase.SPIN, 10);
+        }
+        profiler.record(Phase.SPIN, 1000);
+
+        // 10 is in the bucket [8, 15], 1000 in [512, 1023]
+        assertEquals(15, profiler.getPercentileNanos(Phase.SPIN, 0.5));
+        assertEquals(15, profiler.getPercentileNanos(Phase.SPIN, 0.99));
+        assertEquals(1023, profiler.getPercentileNanos(Phase.SPIN, 1));
+        assertEquals(0, profiler.getPercentileNanos(Phase.CALLBACKS, 0.5));
+    }
+
+    @Test
+    public void merge() {
+        CycleProfiler first = new CycleProfiler();
+        first.record(0, 10, 20, 30, 40, 50);
+        CycleProfiler second = new CycleProfiler();
+        second.record(100, 130, 140, 150, 160, 170);
+
+        first.merge(second);
+
+        assertEquals(2, first.getCycles());
+        assertEquals(40, first.getTotalNanos(Phase.PLACE_BETS));
+
+        first.reset();
+        assertEquals(0, first.getCycles());
+        assertEquals(0, first.getCount(Phase.PLACE_BETS));
+    }
+}
@@ -26,9 +26,14 @@ package io.github.softwarecat;
 
 import io.github.softwarecat.player.Passenger57;
 import io.github.softwarecat.player.Player;
+import io.github.softwarecat.player.PlayerFactory;
+import io.github.softwarecat.player.PlayerType;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -80,4 +85,148 @@ public class GameTest {
             assertFalse(won[0]);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void cycleWithBin() throws InvalidBetException {
+        Table table = new Table(wheel);
+        Passenger57 player = new Passenger57(table);
+        player.stake = 10;
+        player.roundsToGo = 2;
+        Game game = new Game(wheel, table);
+        Outcome black = wheel.getOutcomes(BetCategory.BLACK).get(0);
+
+        // Bin 2 is black, bin 1 is red
+        game.cycle(player, wheel.getBin(2));
+        assertTrue(wheel.getBin(2).contains(black));
+        assertEquals(11, player.stake);
+
+        game.cycle(player, wheel.getBin(1));
+        assertEquals(10, player.stake);
+        assertEquals(0, player.roundsToGo);
+    }
+
+    @Test
+    public void cycleManyPlayers() throws InvalidBetException {
+        Table table = new Table(wheel);
+        Passenger57 first = new Passenger57(table);
+        Passenger57 second = new Passenger57(table);
+        Player broke = PlayerFactory.getPlayer(PlayerType.MARTINGALE, table);
+        for (Player player : List.of(first, second, broke)) {
+            player.stake = 10;
+            player.roundsToGo = 5;
+        }
+        broke.stake = 0;
+        Game game = new Game(wheel, table);
+
+        // Bin 2 is black: both Passenger57s win, and the Player who cannot bet sits the round out
+        game.cycle(List.of(first, second, broke), wheel.getBin(2));
+
+        assertEquals(11, first.stake);
+        assertEquals(11, second.stake);
+        assertEquals(4, first.roundsToGo);
+        assertEquals(4, second.roundsToGo);
+        assertEquals(0, broke.stake);
+        assertEquals(5, broke.roundsToGo);
+        assertEquals(0, table.size());
+    }
+
+    @Test
+    public void cycleManyPlayersSpinsOnce() throws InvalidBetException {
+        Table table = new Table(wheel);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Player player = new Passenger57(table);
+            player.stake = 10;
+            player.roundsToGo = 1;
+            players.add(player);
+        }
+        Game game = new Game(wheel, table);
+
+        game.cycle(players);
+
+        // Everybody bet on black against the same spin, so they all won or all lost
+        boolean black = wheel.getBin(random.nextInt(38)).contains(wheel.getOutcomes(BetCategory.BLACK).get(0));
+        for (Player player : players) {
+            assertEquals(black ? 11 : 9, player.stake);
+        }
+        // The next spin of the Wheel is the second number drawn
+        assertSame(wheel.getBin(random.nextInt(38)), wheel.next());
+    }
+
+    @Test
+    public void profiledCycle() throws InvalidBetException {
+        Table table = new Table(wheel);
+        Player slowPlayer = new Passenger57(table) {
+            @Override
+            public void placeBets() throws InvalidBetException {
+                // A strategy which takes a long time to decide
+                long end = System.nanoTime() + 20_000;
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+                super.placeBets();
+            }
+        };
+        Game game = new Game(wheel, table);
+        CycleProfiler profiler = new CycleProfiler();
+        game.setProfiler(profiler);
+
+        cycles(game, slowPlayer, 500);
+
+        assertEquals(500, profiler.getCycles());
+        for (CycleProfiler.Phase phase : CycleProfiler.Phase.values()) {
+            assertEquals(500, profiler.getCount(phase));
+        }
+        assertTrue(profiler.getMeanNanos(CycleProfiler.Phase.PLACE_BETS) >= 20_000);
+        assertTrue(profiler.getPercentileNanos(CycleProfiler.Phase.PLACE_BETS, 0.5)
+                > profiler.getPercentileNanos(CycleProfiler.Phase.SETTLEMENT, 0.5));
+
+        // Without a profiler, cycles are no longer recorded
+        game.setProfiler(null);
+        cycles(game, slowPlayer, 10);
+        assertEquals(500, profiler.getCycles());
+    }
+
+    @Test
+    public void cycleDoesNotAllocate() throws InvalidBetException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        for (PlayerType playerType : PlayerType.values()) {
+            Table table = new Table(wheel);
+            Player player = PlayerFactory.getPlayer(playerType, table, new Random(1));
+            Game game = new Game(wheel, table);
+            // Every cycle is sampled, but no recording collects SpinEvents
+            game.setSpinEventInterval(1);
+
+            // Warm up until every code path has run and every reused buffer has grown
+            cycles(game, player, 200_000);
+
+            // A per-cycle allocation shows in every window, whereas one-off events such as a deoptimization
+            // rematerializing objects only show in one, so the steady state is the best of a few windows
+            long allocated = Long.MAX_VALUE;
+            for (int window = 0; window < 5 && allocated > 0; window++) {
+                long overhead = threads.getThreadAllocatedBytes(threadId);
+                overhead = threads.getThreadAllocatedBytes(threadId) - overhead;
+
+                long before = threads.getThreadAllocatedBytes(threadId);
+                cycles(game, player, 100_000);
+                allocated = threads.getThreadAllocatedBytes(threadId) - before - overhead;
+            }
+
+            assertEquals(playerType + " allocated during Game.cycle()", 0, allocated);
+        }
+    }
+
+    protected void cycles(Game game, Player player, int count) throws InvalidBetException {
+        for (int i = 0; i < count; i++) {
+            // Start a new session whenever the previous one ends
+            if (!player.playing()) {
+                player.stake = 1000;
+                player.roundsToGo = 250;
+                player.newRound();
+            }
+            game.cycle(player);
+        }
+    }
+}
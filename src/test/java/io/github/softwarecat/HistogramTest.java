@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class HistogramTest {
+
+    @Test
+    public void linear() {
+        Histogram histogram = Histogram.linear(0, 10, 5);
+        for (int value = -1; value <= 10; value++) {
+            histogram.add(value);
+        }
+        histogram.add(9.999999999999998);
+
+        assertEquals(5, histogram.getBucketCount());
+        assertEquals(1, histogram.getUnderflow());
+        assertEquals(1, histogram.getOverflow());
+        assertEquals(2, histogram.getCount(0));
+        assertEquals(3, histogram.getCount(4));
+        assertEquals(13, histogram.getTotal());
+        assertEquals(4, histogram.getLowerBound(2), 1e-12);
+        assertEquals(6, histogram.getUpperBound(2), 1e-12);
+        assertEquals(10, histogram.getUpperBound(4), 0);
+    }
+
+    @Test
+    public void logarithmic() {
+        Histogram histogram = Histogram.logarithmic(1, 1000, 3);
+        histogram.add(0);
+        histogram.add(1);
+        histogram.add(9);
+        histogram.add(10.5);
+        histogram.add(999);
+        histogram.add(1000);
+
+        assertEquals(1, histogram.getUnderflow());
+        assertEquals(2, histogram.getCount(0));
+        assertEquals(1, histogram.getCount(1));
+        assertEquals(1, histogram.getCount(2));
+        assertEquals(1, histogram.getOverflow());
+        assertEquals(10, histogram.getLowerBound(1), 1e-9);
+        assertEquals(100, histogram.getUpperBound(1), 1e-9);
+    }
+
+    @Test
+    public void merge() {
+        Histogram first = Histogram.linear(0, 100, 10);
+        Histogram second = first.emptyCopy();
+        Histogram whole = first.emptyCopy();
+        for (int value = -5; value < 120; value++) {
+            (value % 3 == 0 ? first : second).add(value);
+            whole.add(value);
+        }
+
+        first.merge(second);
+        for (int i = 0; i < whole.getBucketCount(); i++) {
+            assertEquals(whole.getCount(i), first.getCount(i));
+        }
+        assertEquals(whole.getUnderflow(), first.getUnderflow());
+        assertEquals(whole.getOverflow(), first.getOverflow());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeDifferentBuckets() {
+        Histogram histogram = Histogram.linear(1, 100, 10);
+        assertFalse(histogram.hasSameBuckets(Histogram.logarithmic(1, 100, 10)));
+        histogram.merge(Histogram.logarithmic(1, 100, 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void logarithmicFromZero() {
+        Histogram.logarithmic(0, 100, 10);
+    }
+
+    @Test
+    public void reset() {
+        Histogram histogram = Histogram.linear(0, 1, 2);
+        histogram.add(-1);
+        histogram.add(0.5);
+        histogram.reset();
+
+        assertEquals(0, histogram.getTotal());
+    }
+
+    @Test
+    public void writeCsv() throws IOException {
+        Histogram histogram = Histogram.linear(0, 2, 2);
+        histogram.add(-1);
+        histogram.add(0.5);
+        histogram.add(1.5);
+        histogram.add(1.5);
+
+        StringBuilder csv = new StringBuilder();
+        histogram.writeCsv(csv);
+        assertEquals("lower,upper,count\n"
+                + "-Infinity,0.0,1\n"
+                + "0.0,1.0,1\n"
+                + "1.0,2.0,2\n"
+                + "2.0,Infinity,0\n", csv.toString());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.random.SplitMix64;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OutcomeIndexTest {
+
+    Wheel wheel;
+
+    @Before
+    public void setUp() {
+        wheel = new Wheel();
+        BinBuilder builder = new BinBuilder();
+        builder.buildBins(wheel);
+    }
+
+    @Test
+    public void getOutcomes() {
+        assertEquals(38, wheel.getOutcomes(BetCategory.STRAIGHT).size());
+        assertEquals(57, wheel.getOutcomes(BetCategory.SPLIT).size());
+        assertEquals(12, wheel.getOutcomes(BetCategory.STREET).size());
+        assertEquals(22, wheel.getOutcomes(BetCategory.CORNER).size());
+        assertEquals(1, wheel.getOutcomes(BetCategory.FIVE).size());
+        assertEquals(11, wheel.getOutcomes(BetCategory.LINE).size());
+        assertEquals(3, wheel.getOutcomes(BetCategory.DOZEN).size());
+        assertEquals(3, wheel.getOutcomes(BetCategory.COLUMN).size());
+
+        // The index returns the same instances as the name lookup
+        assertSame(wheel.getOutcomes("Black").get(0), wheel.getOutcomes(BetCategory.BLACK).get(0));
+        assertSame(wheel.getOutcomes("Red").get(0), wheel.getOutcomes(BetCategory.RED).get(0));
+    }
+
+    @Test
+    public void getOutcome() {
+        assertEquals(new Outcome("17", 35), wheel.getOutcome(BetCategory.STRAIGHT, 17));
+        assertEquals(new Outcome("00", 35), wheel.getOutcome(BetCategory.STRAIGHT, 37));
+        assertEquals(new Outcome("Split 1-4", 17), wheel.getOutcome(BetCategory.SPLIT, 4, 1));
+        assertEquals(new Outcome("Corner 1-2-4-5", 8), wheel.getOutcome(BetCategory.CORNER, 1, 2, 4, 5));
+        assertEquals(new Outcome("Five Bet", 6), wheel.getOutcome(BetCategory.FIVE, 0, 1, 2, 3, 37));
+        assertNull(wheel.getOutcome(BetCategory.SPLIT, 1, 5));
+    }
+
+    @Test
+    public void rebuiltAfterAddOutcome() {
+        Outcome outcome = new Outcome("Special", 1, BetCategory.STRAIGHT);
+        wheel.addOutcome(5, outcome);
+
+        assertEquals(39, wheel.getOutcomes(BetCategory.STRAIGHT).size());
+    }
+
+    @Test
+    public void binOutcomesWithoutId() {
+        // Outcomes added to a Bin directly, without an id or with the id of another wheel, are not indexed
+        wheel.getBin(3).add(new Outcome("Lucky 3", 35));
+        Wheel other = new Wheel();
+        Outcome foreign = new Outcome("Foreign", 1, BetCategory.STRAIGHT);
+        other.addOutcome(0, new Outcome("Other", 1));
+        other.addOutcome(0, foreign);
+        wheel.getBin(4).add(foreign);
+        wheel.addOutcome(5, new Outcome("Special", 1, BetCategory.STRAIGHT));
+
+        assertEquals(39, wheel.getOutcomes(BetCategory.STRAIGHT).size());
+        assertEquals(new Outcome("3", 35), wheel.getOutcome(BetCategory.STRAIGHT, 3));
+
+        // A wheel sharing the layout builds its index too
+        Wheel shared = new Wheel(wheel, new SplitMix64(1));
+        assertEquals(39, shared.getOutcomes(BetCategory.STRAIGHT).size());
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.PlayerType;
+import io.github.softwarecat.random.RandomSourceType;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ParallelSimulatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected ParallelSimulator gather(PlayerType playerType, int threads) {
+        return gather(playerType, RandomSourceType.JDK, threads);
+    }
+
+    protected ParallelSimulator gather(PlayerType playerType, RandomSourceType randomSourceType, int threads) {
+        ParallelSimulator simulator = new ParallelSimulator(playerType, 42, randomSourceType);
+        simulator.samples = 2 * ParallelSimulator.CHUNK_SIZE + 100;
+        simulator.sessionDuration = 50;
+        simulator.threads = threads;
+
+        try {
+            simulator.gather();
+        } catch (InvalidBetException e) {
+            fail("Player is broken, should not place invalid bet");
+        }
+        return simulator;
+    }
+
+    protected void assertIdentical(Simulator expected, Simulator actual) {
+        assertEquals(Double.doubleToLongBits(expected.meanDuration), Double.doubleToLongBits(actual.meanDuration));
+        assertEquals(Double.doubleToLongBits(expected.stdDuration), Double.doubleToLongBits(actual.stdDuration));
+        assertEquals(Double.doubleToLongBits(expected.meanMaximum), Double.doubleToLongBits(actual.meanMaximum));
+        assertEquals(Double.doubleToLongBits(expected.stdMaximum), Double.doubleToLongBits(actual.stdMaximum));
+        assertEquals(Double.doubleToLongBits(expected.medianDuration), Double.doubleToLongBits(actual.medianDuration));
+        assertEquals(Double.doubleToLongBits(expected.p99Maximum), Double.doubleToLongBits(actual.p99Maximum));
+    }
+
+    @Test
+    public void gatherIsIndependentOfThreadCount() {
+        for (PlayerType playerType : PlayerType.values()) {
+            ParallelSimulator single = gather(playerType, 1);
+            ParallelSimulator multiple = gather(playerType, 3);
+
+            assertEquals(single.samples, single.getStatistics().getCount());
+            assertIdentical(single, multiple);
+        }
+    }
+
+    @Test
+    public void gatherWithEachRandomSource() {
+        for (RandomSourceType randomSourceType : RandomSourceType.values()) {
+            ParallelSimulator single = gather(PlayerType.RANDOM_CHOICE, randomSourceType, 1);
+            ParallelSimulator multiple = gather(PlayerType.RANDOM_CHOICE, randomSourceType, 3);
+
+            assertIdentical(single, multiple);
+        }
+    }
+
+    @Test
+    public void gatherUntilPrecise() throws InvalidBetException {
+        // The precision of three chunks is a target a sequential gather reaches in three chunks at most
+        ParallelSimulator fixed = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        fixed.samples = 3 * ParallelSimulator.CHUNK_SIZE;
+        fixed.sessionDuration = 50;
+        fixed.gather();
+        double target = fixed.getStatistics().MAXIMA.getConfidenceHalfWidth(StrategyComparison.Z_95);
+
+        ParallelSimulator[] simulators = new ParallelSimulator[2];
+        for (int i = 0; i < simulators.length; i++) {
+            simulators[i] = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+            simulators[i].sessionDuration = 50;
+            simulators[i].threads = 1 + 2 * i;
+            assertTrue(simulators[i].gather(SessionMetric.MAXIMUM, target, StrategyComparison.Z_95,
+                    100 * ParallelSimulator.CHUNK_SIZE));
+        }
+
+        ParallelSimulator simulator = simulators[0];
+        assertTrue(simulator.completedSamples <= 3 * ParallelSimulator.CHUNK_SIZE);
+        assertEquals(0, simulator.completedSamples % ParallelSimulator.CHUNK_SIZE);
+        assertTrue(simulator.getStatistics().MAXIMA.getConfidenceHalfWidth(StrategyComparison.Z_95) <= target);
+        // Where the gather stops does not depend on the number of threads
+        assertEquals(simulator.completedSamples, simulators[1].completedSamples);
+        assertIdentical(simulator, simulators[1]);
+    }
+
+    @Test
+    public void gatherUntilPreciseStopsAbandonedChunks() throws InvalidBetException {
+        AtomicInteger running = new AtomicInteger();
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42) {
+            @Override
+            protected Chunk runChunk(int from, int to, boolean keepResults) throws InvalidBetException {
+                running.incrementAndGet();
+                try {
+                    return super.runChunk(from, to, keepResults);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        };
+        simulator.sessionDuration = 50;
+        simulator.threads = 4;
+
+        // Any precision is reached by the first chunk, while the others are still in flight
+        assertTrue(simulator.gather(SessionMetric.MAXIMUM, Double.MAX_VALUE, StrategyComparison.Z_95,
+                100 * ParallelSimulator.CHUNK_SIZE));
+        assertEquals(ParallelSimulator.CHUNK_SIZE, simulator.completedSamples);
+        assertEquals(0, running.get());
+    }
+
+    @Test
+    public void gatherUntilSampleCap() throws InvalidBetException {
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        simulator.sessionDuration = 50;
+        simulator.threads = 2;
+
+        assertFalse(simulator.gather(SessionMetric.MAXIMUM, 1e-9, StrategyComparison.Z_95,
+                2 * ParallelSimulator.CHUNK_SIZE + 100));
+        assertEquals(2 * ParallelSimulator.CHUNK_SIZE + 100, simulator.completedSamples);
+        assertIdentical(gather(PlayerType.MARTINGALE, 1), simulator);
+    }
+
+    @Test
+    public void gatherHistograms() throws InvalidBetException {
+        Histogram[] histograms = new Histogram[2];
+        for (int i = 0; i < histograms.length; i++) {
+            ParallelSimulator simulator = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+            simulator.samples = 2 * ParallelSimulator.CHUNK_SIZE + 100;
+            simulator.sessionDuration = 50;
+            simulator.threads = 1 + 2 * i;
+            simulator.setHistograms(null, null, Histogram.linear(0, 1000, 50));
+            simulator.gather();
+            histograms[i] = simulator.getStatistics().FINAL_STAKE_HISTOGRAM;
+        }
+
+        assertEquals(2 * ParallelSimulator.CHUNK_SIZE + 100, histograms[0].getTotal());
+        for (int i = 0; i < histograms[0].getBucketCount(); i++) {
+            assertEquals(histograms[0].getCount(i), histograms[1].getCount(i));
+        }
+    }
+
+    @Test
+    public void gatherSessions() throws InvalidBetException {
+        ParallelSimulator chunked = gather(PlayerType.MARTINGALE, 2);
+
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        simulator.samples = chunked.samples;
+        simulator.sessionDuration = chunked.sessionDuration;
+
+        ExecutorService executor = Executors.newWorkStealingPool(2);
+        try {
+            simulator.gather(executor, null);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(simulator.samples, simulator.completedSamples);
+        assertIdentical(chunked, simulator);
+        assertTrue(simulator.throughput > 0);
+    }
+
+    @Test
+    public void gatherSessionsWithDeadline() throws InvalidBetException {
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.PASSENGER57, 42);
+        simulator.samples = 1_000_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            simulator.gather(executor, Duration.ofMillis(20));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(simulator.completedSamples < simulator.samples);
+        assertEquals(simulator.completedSamples, simulator.getStatistics().getCount());
+        assertTrue(simulator.completedSamples + simulator.discardedSamples <= simulator.samples);
+    }
+
+    @Test(timeout = 10_000)
+    public void gatherSessionsDiscardedAfterGap() throws InvalidBetException {
+        // The first sample never ends by itself, so the sessions completed after it are all discarded
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.PASSENGER57, 42) {
+            @Override
+            protected SessionResult runSession(int index) throws InvalidBetException {
+                while (index == 0) {
+                    super.runSession(index);
+                }
+                return super.runSession(index);
+            }
+        };
+        simulator.samples = 100;
+        simulator.sessionDuration = 10;
+        simulator.threads = 2;
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        long startTime = System.nanoTime();
+        try {
+            simulator.gather(executor, Duration.ofMillis(500));
+        } finally {
+            executor.shutdown();
+        }
+
+        // The endless session stops at the deadline, instead of running until the timeout of the test
+        assertTrue(System.nanoTime() - startTime < Duration.ofSeconds(5).toNanos());
+        assertEquals(0, simulator.completedSamples);
+        assertEquals(99, simulator.discardedSamples);
+    }
+
+    @Test
+    public void writeResults() throws IOException, InvalidBetException {
+        Path path = folder.newFile().toPath();
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+        simulator.samples = ParallelSimulator.CHUNK_SIZE * 3 + 5;
+        simulator.sessionDuration = 50;
+        simulator.threads = 3;
+        try (SessionResultWriter writer = new SessionResultWriter(path)) {
+            simulator.setResultWriter(writer);
+            simulator.gather();
+        }
+
+        // The rows are written in sample order, each with the seed of its sample
+        SessionResultReader reader = SessionResultReader.open(path);
+        assertEquals(simulator.samples, reader.getRowCount());
+        for (int i = 0; i < simulator.samples; i += 97) {
+            assertEquals(ParallelSimulator.sampleSeed(42, i), reader.getSeed(i));
+        }
+        SessionStatistics statistics = reader.getStatistics();
+        assertEquals(simulator.meanDuration, statistics.DURATIONS.getMean(), 1e-9);
+        assertEquals(simulator.meanMaximum, statistics.MAXIMA.getMean(), 1e-9);
+
+        // The quantiles rebuilt from the file match those of the gather
+        SessionStatistics gathered = simulator.getStatistics();
+        assertEquals(gathered.MAXIMUM_QUANTILES.getMedian(), statistics.MAXIMUM_QUANTILES.getMedian(), 1e-9);
+        assertEquals(gathered.MAXIMUM_QUANTILES.getQuantile(0.99), statistics.MAXIMUM_QUANTILES.getQuantile(0.99),
+                1e-9);
+        assertEquals(gathered.DURATION_QUANTILES.getMedian(), statistics.DURATION_QUANTILES.getMedian(), 1e-9);
+        assertEquals(gathered.DURATION_QUANTILES.getQuantile(0.99), statistics.DURATION_QUANTILES.getQuantile(0.99),
+                1e-9);
+    }
+
+    @Test
+    public void checkpointAndResume() throws IOException, InvalidBetException {
+        Path checkpoint = folder.getRoot().toPath().resolve("gather.checkpoint");
+        int samples = 5 * ParallelSimulator.CHUNK_SIZE + 100;
+
+        // A gather which dies in its fourth chunk
+        ParallelSimulator interrupted = new ParallelSimulator(PlayerType.FIBONACCI, 42) {
+            @Override
+            protected Chunk runChunk(int from, int to, boolean keepResults) throws InvalidBetException {
+                if (from == 3 * CHUNK_SIZE) {
+                    throw new IllegalStateException("Simulated crash");
+                }
+                return super.runChunk(from, to, keepResults);
+            }
+        };
+        interrupted.samples = samples;
+        interrupted.sessionDuration = 50;
+        interrupted.threads = 1;
+        interrupted.setCheckpoint(checkpoint, Duration.ZERO);
+        try {
+            interrupted.gather();
+            fail("Gather should have died");
+        } catch (IllegalStateException e) {
+            assertTrue(Files.exists(checkpoint));
+        }
+
+        ParallelSimulator resumed = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+        resumed.samples = samples;
+        resumed.sessionDuration = 50;
+        resumed.threads = 3;
+        resumed.setCheckpoint(checkpoint, Duration.ZERO);
+        resumed.resume();
+
+        // Only the samples after the checkpoint ran, and the statistics are those of an uninterrupted gather
+        assertEquals(samples - 3 * ParallelSimulator.CHUNK_SIZE, resumed.completedSamples);
+        ParallelSimulator uninterrupted = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+        uninterrupted.samples = samples;
+        uninterrupted.sessionDuration = 50;
+        uninterrupted.gather();
+        assertIdentical(uninterrupted, resumed);
+        assertEquals(uninterrupted.getStatistics().getCount(), resumed.getStatistics().getCount());
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    public void resumeWithoutCheckpoint() throws InvalidBetException {
+        ParallelSimulator simulator = gather(PlayerType.MARTINGALE, 2);
+
+        ParallelSimulator resumed = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        resumed.samples = simulator.samples;
+        resumed.sessionDuration = 50;
+        resumed.setCheckpoint(folder.getRoot().toPath().resolve("missing.checkpoint"), Duration.ofMinutes(1));
+        resumed.resume();
+
+        assertIdentical(simulator, resumed);
+    }
+
+    @Test
+    public void cacheLeavesCheckpoint() throws IOException, InvalidBetException {
+        Path checkpoint = folder.getRoot().toPath().resolve("cached.checkpoint");
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        simulator.samples = 2 * ParallelSimulator.CHUNK_SIZE;
+        simulator.sessionDuration = 50;
+        simulator.setCheckpoint(checkpoint, Duration.ZERO);
+        simulator.setResultCache(new ResultCache(folder.newFolder().toPath()));
+
+        // A gather served by the cache writes no checkpoint
+        simulator.gather();
+        assertFalse(Files.exists(checkpoint));
+
+        // Nor does it delete one left by an earlier gather
+        simulator.nextCheckpoint = 0;
+        simulator.checkpoint(simulator.getStatistics().emptyCopy(), 0);
+        simulator.gather();
+        assertTrue(Files.exists(checkpoint));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resumeOtherConfiguration() throws InvalidBetException, IOException {
+        Path checkpoint = folder.getRoot().toPath().resolve("other.checkpoint");
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.MARTINGALE, 42);
+        simulator.samples = 2 * ParallelSimulator.CHUNK_SIZE;
+        simulator.sessionDuration = 50;
+        simulator.setCheckpoint(checkpoint, Duration.ZERO);
+        simulator.checkpoint(simulator.getStatistics(), 0);
+        assertTrue(Files.exists(checkpoint));
+
+        simulator.seed++;
+        simulator.resume();
+    }
+
+    @Test
+    public void sampleSeed() {
+        assertEquals(ParallelSimulator.sampleSeed(1, 5), ParallelSimulator.sampleSeed(1, 5));
+        assertNotEquals(ParallelSimulator.sampleSeed(1, 5), ParallelSimulator.sampleSeed(1, 6));
+        assertNotEquals(ParallelSimulator.sampleSeed(1, 5), ParallelSimulator.sampleSeed(2, 5));
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.PlayerType;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParameterSweepTest {
+
+    protected ParameterSweep sweep() {
+        ParameterSweep sweep = new ParameterSweep(42);
+        sweep.playerTypes = new PlayerType[]{PlayerType.MARTINGALE, PlayerType.FIBONACCI};
+        sweep.initialStakes = ParameterSweep.range(50, 150, 50);
+        sweep.sessionDurations = new int[]{20, 40};
+        sweep.tableLimits = new int[]{16, Game.TABLE_LIMIT};
+        sweep.samples = 200;
+        return sweep;
+    }
+
+    @Test
+    public void range() {
+        assertArrayEquals(new int[]{50, 100, 150}, ParameterSweep.range(50, 150, 50));
+        assertArrayEquals(new int[]{1, 4, 7}, ParameterSweep.range(1, 9, 3));
+        assertArrayEquals(new int[]{5}, ParameterSweep.range(5, 5, 1));
+        assertEquals(0, ParameterSweep.range(5, 4, 1).length);
+    }
+
+    @Test
+    public void points() {
+        List<ParameterSweep.Point> points = sweep().points();
+
+        assertEquals(2 * 3 * 2 * 2, points.size());
+        ParameterSweep.Point first = points.get(0);
+        assertEquals(PlayerType.MARTINGALE, first.PLAYER_TYPE);
+        assertEquals(50, first.INITIAL_STAKE);
+        assertEquals(20, first.SESSION_DURATION);
+        assertEquals(16, first.TABLE_LIMIT);
+        assertEquals(Game.TABLE_LIMIT, points.get(1).TABLE_LIMIT);
+        assertEquals(PlayerType.FIBONACCI, points.get(points.size() - 1).PLAYER_TYPE);
+    }
+
+    @Test
+    public void runIsIndependentOfPool() {
+        List<ParameterSweep.Point> single = sweep().run(new ForkJoinPool(1));
+        List<ParameterSweep.Point> common = sweep().run();
+
+        assertEquals(single.size(), common.size());
+        for (int i = 0; i < single.size(); i++) {
+            SessionStatistics expected = single.get(i).STATISTICS;
+            SessionStatistics actual = common.get(i).STATISTICS;
+            assertEquals(expected.getCount(), actual.getCount());
+            assertEquals(Double.doubleToLongBits(expected.DURATIONS.getMean()),
+                    Double.doubleToLongBits(actual.DURATIONS.getMean()));
+            assertEquals(Double.doubleToLongBits(expected.MAXIMA.getStd()),
+                    Double.doubleToLongBits(actual.MAXIMA.getStd()));
+            assertEquals(single.get(i).invalidSessions, common.get(i).invalidSessions);
+        }
+    }
+
+    @Test
+    public void runMatchesParallelSimulator() throws InvalidBetException {
+        ParameterSweep sweep = new ParameterSweep(42);
+        sweep.playerTypes = new PlayerType[]{PlayerType.FIBONACCI};
+        sweep.sessionDurations = new int[]{50};
+        sweep.samples = 500;
+        ParameterSweep.Point point = sweep.run().get(0);
+
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+        simulator.sessionDuration = 50;
+        simulator.samples = 500;
+        simulator.gather();
+
+        assertEquals(500, point.STATISTICS.getCount());
+        assertEquals(simulator.meanDuration, point.STATISTICS.DURATIONS.getMean(), 1e-9);
+        assertEquals(simulator.meanMaximum, point.STATISTICS.MAXIMA.getMean(), 1e-9);
+        assertEquals(simulator.stdMaximum, point.STATISTICS.MAXIMA.getStd(), 1e-9);
+    }
+
+    @Test
+    public void invalidSessions() {
+        List<ParameterSweep.Point> points = sweep().run();
+
+        for (ParameterSweep.Point point : points) {
+            assertEquals(200, point.STATISTICS.getCount() + point.invalidSessions);
+            if (point.TABLE_LIMIT == Game.TABLE_LIMIT) {
+                assertEquals(0, point.invalidSessions);
+            }
+        }
+        // A Martingale player doubling up from 1 soon bets more than a limit of 16
+        assertTrue(points.get(2 * 2 * 2).invalidSessions > 0);
+    }
+
+    @Test
+    public void tableMinimums() {
+        ParameterSweep sweep = new ParameterSweep(42);
+        sweep.playerTypes = new PlayerType[]{PlayerType.MARTINGALE, PlayerType.FIBONACCI, PlayerType.CANCELLATION};
+        sweep.initialStakes = new int[]{500};
+        sweep.sessionDurations = new int[]{40};
+        sweep.tableMinimums = new int[]{1, 5};
+        sweep.samples = 200;
+        List<ParameterSweep.Point> points = sweep.run();
+
+        for (int i = 0; i < points.size(); i += 2) {
+            ParameterSweep.Point low = points.get(i);
+            ParameterSweep.Point high = points.get(i + 1);
+            assertEquals(5, high.TABLE_MINIMUM);
+            // Players bet from the higher minimum instead of having every bet refused
+            assertEquals(0, high.invalidSessions);
+            assertEquals(200, high.STATISTICS.getCount());
+            // Bets five times larger swing the stake further, or end the session sooner
+            assertNotEquals(low.STATISTICS.MAXIMA.getMean(), high.STATISTICS.MAXIMA.getMean(), 1e-9);
+        }
+    }
+
+    @Test
+    public void writeCsv() throws IOException {
+        ParameterSweep sweep = sweep();
+        sweep.samples = 10;
+        StringBuilder csv = new StringBuilder();
+        ParameterSweep.writeCsv(sweep.run(), csv);
+
+        String[] lines = csv.toString().split("\n");
+        assertEquals(1 + 24, lines.length);
+        assertTrue(lines[0].startsWith("playerType,initialStake,sessionDuration,tableLimit,tableMinimum,samples"));
+        assertTrue(lines[1].startsWith("MARTINGALE,50,20,16,1,"));
+        assertEquals(lines[0].split(",").length, lines[1].split(",").length);
+    }
+}
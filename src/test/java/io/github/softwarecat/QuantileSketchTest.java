@@ -0,0 +1,140 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class QuantileSketchTest {
+
+    protected static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    protected double[] data(long seed, int size) {
+        Random random = new Random(seed);
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Heavy tailed, with a few zeros and negative values
+            int kind = random.nextInt(20);
+            values[i] = kind == 0 ? 0 : kind == 1 ? -random.nextInt(100) : Math.exp(random.nextGaussian() * 3);
+        }
+        return values;
+    }
+
+    protected QuantileSketch of(double[] values, int from, int to) {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = from; i < to; i++) {
+            sketch.add(values[i]);
+        }
+        return sketch;
+    }
+
+    protected void assertAccurate(double[] values, QuantileSketch sketch) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double quantile : QUANTILES) {
+            double exact = sorted[(int) (quantile * (sorted.length - 1))];
+            assertEquals("quantile " + quantile, exact, sketch.getQuantile(quantile),
+                    Math.abs(exact) * sketch.RELATIVE_ACCURACY + 1e-12);
+        }
+    }
+
+    @Test
+    public void quantiles() {
+        double[] values = data(1, 100_000);
+        QuantileSketch sketch = of(values, 0, values.length);
+
+        assertEquals(100_000, sketch.getCount());
+        assertAccurate(values, sketch);
+        assertEquals(sketch.getQuantile(0.5), sketch.getMedian(), 0);
+    }
+
+    @Test
+    public void integers() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 1; i <= 1000; i++) {
+            sketch.add(i);
+        }
+
+        assertEquals(500, sketch.getMedian(), 5);
+        assertEquals(990, sketch.getQuantile(0.99), 10);
+        assertEquals(1, sketch.getQuantile(0), 0);
+        assertEquals(1000, sketch.getQuantile(1), 0);
+    }
+
+    @Test
+    public void merge() {
+        double[] values = data(2, 50_000);
+        QuantileSketch sketch = of(values, 0, 10_000);
+        sketch.merge(of(values, 10_000, 50_000));
+        sketch.merge(new QuantileSketch());
+
+        assertEquals(50_000, sketch.getCount());
+        assertAccurate(values, sketch);
+
+        QuantileSketch whole = of(values, 0, values.length);
+        for (double quantile : QUANTILES) {
+            assertEquals(whole.getQuantile(quantile), sketch.getQuantile(quantile), 0);
+        }
+
+        QuantileSketch empty = new QuantileSketch();
+        empty.merge(sketch);
+        assertEquals(sketch.getMedian(), empty.getMedian(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeDifferentAccuracy() {
+        new QuantileSketch().merge(new QuantileSketch(0.05, QuantileSketch.DEFAULT_MAX_BUCKETS));
+    }
+
+    @Test
+    public void boundedBuckets() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 100);
+        for (int i = 0; i < 100_000; i++) {
+            sketch.add(Math.pow(1.01, i % 5000));
+        }
+
+        assertTrue(sketch.positive.counts.length <= 100);
+        // The lowest buckets are folded, the highest ones stay accurate
+        double exact = Math.pow(1.01, 4949);
+        assertEquals(exact, sketch.getQuantile(0.99), exact * 0.01);
+        assertEquals(100_000, sketch.getCount());
+    }
+
+    @Test
+    public void reset() {
+        QuantileSketch sketch = of(data(3, 1000), 0, 1000);
+        sketch.reset();
+
+        assertEquals(0, sketch.getCount());
+        assertTrue(Double.isNaN(sketch.getMedian()));
+
+        sketch.add(42);
+        assertEquals(42, sketch.getMedian(), 0);
+    }
+}
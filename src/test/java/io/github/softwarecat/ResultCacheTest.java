@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.PlayerType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class ResultCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    ResultCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        cache = new ResultCache(folder.newFolder().toPath());
+    }
+
+    protected ParallelSimulator simulator(int samples, boolean cached) {
+        ParallelSimulator simulator = new ParallelSimulator(PlayerType.FIBONACCI, 42);
+        simulator.samples = samples;
+        simulator.sessionDuration = 50;
+        simulator.threads = 2;
+        if (cached) {
+            simulator.setResultCache(cache);
+        }
+        return simulator;
+    }
+
+    protected ParallelSimulator gather(int samples, boolean cached) throws InvalidBetException {
+        ParallelSimulator simulator = simulator(samples, cached);
+        simulator.gather();
+        return simulator;
+    }
+
+    protected void assertIdentical(Simulator expected, Simulator actual) {
+        assertEquals(expected.getStatistics().getCount(), actual.getStatistics().getCount());
+        assertEquals(Double.doubleToLongBits(expected.meanDuration), Double.doubleToLongBits(actual.meanDuration));
+        assertEquals(Double.doubleToLongBits(expected.stdDuration), Double.doubleToLongBits(actual.stdDuration));
+        assertEquals(Double.doubleToLongBits(expected.meanMaximum), Double.doubleToLongBits(actual.meanMaximum));
+        assertEquals(Double.doubleToLongBits(expected.stdMaximum), Double.doubleToLongBits(actual.stdMaximum));
+        assertEquals(Double.doubleToLongBits(expected.p99Maximum), Double.doubleToLongBits(actual.p99Maximum));
+    }
+
+    @Test
+    public void hit() throws InvalidBetException {
+        ParallelSimulator first = gather(3000, true);
+        assertEquals(3000, cache.getComputedSamples());
+        assertIdentical(gather(3000, false), first);
+
+        ParallelSimulator second = gather(3000, true);
+        assertEquals(3000, cache.getComputedSamples());
+        assertIdentical(first, second);
+        assertEquals(3000, second.completedSamples);
+    }
+
+    @Test
+    public void partialHit() throws InvalidBetException {
+        gather(2 * ParallelSimulator.CHUNK_SIZE, true);
+        assertEquals(2 * ParallelSimulator.CHUNK_SIZE, cache.getComputedSamples());
+
+        // Only the missing samples are run, and the statistics are those of a gather without the cache
+        ParallelSimulator extended = gather(3 * ParallelSimulator.CHUNK_SIZE + 100, true);
+        assertEquals(3 * ParallelSimulator.CHUNK_SIZE + 100, cache.getComputedSamples());
+        assertIdentical(gather(3 * ParallelSimulator.CHUNK_SIZE + 100, false), extended);
+    }
+
+    @Test
+    public void partialHitFromChunkBoundary() throws InvalidBetException {
+        gather(1500, true);
+        assertEquals(1500, cache.getComputedSamples());
+
+        // The entry of 1500 samples cannot be extended exactly, but the one of 1024 samples stored with it can
+        ParallelSimulator extended = gather(2000, true);
+        assertEquals(1500 + 2000 - ParallelSimulator.CHUNK_SIZE, cache.getComputedSamples());
+        assertIdentical(gather(2000, false), extended);
+
+        // Fewer samples than the longest entry are computed from a shorter one
+        gather(1200, true);
+        assertEquals(1500 + 2000 - 2 * ParallelSimulator.CHUNK_SIZE + 1200, cache.getComputedSamples());
+    }
+
+    @Test
+    public void concurrentGathers() throws InterruptedException, ExecutionException {
+        // Gathers of different seeds sharing the cache all count the sessions they run
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> gathers = new ArrayList<>();
+            for (int seed = 0; seed < 8; seed++) {
+                ParallelSimulator simulator = new ParallelSimulator(PlayerType.FIBONACCI, seed);
+                simulator.samples = 500;
+                simulator.sessionDuration = 20;
+                simulator.threads = 1;
+                simulator.setResultCache(cache);
+                gathers.add(executor.submit(() -> {
+                    simulator.gather();
+                    return null;
+                }));
+            }
+            for (Future<?> gather : gathers) {
+                gather.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(8 * 500, cache.getComputedSamples());
+    }
+
+    @Test
+    public void key() {
+        ParallelSimulator simulator = simulator(100, true);
+        String key = ResultCache.key(simulator);
+
+        assertEquals(64, key.length());
+        assertEquals(key, ResultCache.key(simulator(200, true)));
+
+        simulator.initialStake++;
+        assertNotEquals(key, ResultCache.key(simulator));
+        simulator.initialStake--;
+        simulator.seed++;
+        assertNotEquals(key, ResultCache.key(simulator));
+        simulator.seed--;
+        assertNotEquals(key, ResultCache.key(new ParallelSimulator(PlayerType.MARTINGALE, 42)));
+
+        simulator.setHistograms(Histogram.linear(0, 51, 10), null, null);
+        assertNotEquals(key, ResultCache.key(simulator));
+    }
+
+    @Test
+    public void damagedEntry() throws InvalidBetException, IOException {
+        ParallelSimulator first = gather(500, true);
+
+        Path entry = cache.DIRECTORY.resolve(ResultCache.key(first)).resolve("500.stats");
+        Files.write(entry, new byte[]{1, 2, 3});
+
+        ParallelSimulator second = gather(500, true);
+        assertEquals(1000, cache.getComputedSamples());
+        assertIdentical(first, second);
+        assertTrue(Files.size(entry) > 3);
+    }
+
+    @Test
+    public void histograms() throws InvalidBetException {
+        ParallelSimulator first = simulator(500, true);
+        first.setHistograms(Histogram.linear(0, 51, 10), null, null);
+        first.gather();
+
+        ParallelSimulator second = simulator(500, true);
+        second.setHistograms(Histogram.linear(0, 51, 10), null, null);
+        second.gather();
+
+        assertEquals(500, cache.getComputedSamples());
+        Histogram expected = first.getStatistics().DURATION_HISTOGRAM;
+        Histogram actual = second.getStatistics().DURATION_HISTOGRAM;
+        for (int i = 0; i < expected.getBucketCount(); i++) {
+            assertEquals(expected.getCount(i), actual.getCount(i));
+        }
+    }
+}
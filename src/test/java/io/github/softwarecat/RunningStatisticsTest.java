@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RunningStatisticsTest {
+
+    protected final List<Integer> DATA = List.of(9, 8, 5, 9, 9, 4, 5, 8, 10, 7, 8, 8);
+
+    protected RunningStatistics of(List<Integer> values) {
+        RunningStatistics statistics = new RunningStatistics();
+        for (int value : values) {
+            statistics.add(value);
+        }
+        return statistics;
+    }
+
+    @Test
+    public void add() {
+        RunningStatistics statistics = of(DATA);
+
+        assertEquals(12, statistics.getCount());
+        assertEquals(IntegerStatistics.mean(DATA), statistics.getMean(), 1e-12);
+        assertEquals(IntegerStatistics.std(DATA), statistics.getStd(), 1e-12);
+        assertEquals(4, statistics.getMin(), 0);
+        assertEquals(10, statistics.getMax(), 0);
+    }
+
+    @Test
+    public void confidenceHalfWidth() {
+        RunningStatistics statistics = of(DATA);
+
+        assertEquals(IntegerStatistics.std(DATA) / Math.sqrt(12), statistics.getStandardError(), 1e-12);
+        assertEquals(1.96 * statistics.getStandardError(), statistics.getConfidenceHalfWidth(1.96), 1e-12);
+    }
+
+    @Test
+    public void merge() {
+        RunningStatistics statistics = of(DATA.subList(0, 5));
+        statistics.merge(of(DATA.subList(5, 12)));
+        statistics.merge(new RunningStatistics());
+
+        assertEquals(12, statistics.getCount());
+        assertEquals(IntegerStatistics.mean(DATA), statistics.getMean(), 1e-12);
+        assertEquals(IntegerStatistics.std(DATA), statistics.getStd(), 1e-12);
+        assertEquals(4, statistics.getMin(), 0);
+        assertEquals(10, statistics.getMax(), 0);
+
+        RunningStatistics empty = new RunningStatistics();
+        empty.merge(statistics);
+        assertEquals(statistics.getMean(), empty.getMean(), 0);
+    }
+
+    @Test
+    public void largeValues() {
+        // The sum of these values overflows an int, and the naive sum of squares loses all precision
+        RunningStatistics statistics = new RunningStatistics();
+        for (int i = 0; i < 1000; i++) {
+            statistics.add(1e9 + (i % 2));
+        }
+
+        assertEquals(1e9 + 0.5, statistics.getMean(), 1e-6);
+        assertEquals(0.5, statistics.getStd(), 1e-3);
+    }
+
+    @Test
+    public void reset() {
+        RunningStatistics statistics = of(DATA);
+        statistics.reset();
+
+        assertEquals(0, statistics.getCount());
+        assertTrue(Double.isNaN(statistics.getMean()));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+public class SessionResultReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    SessionResultReader reader;
+
+    @Before
+    public void setUp() throws IOException {
+        Path path = folder.newFile().toPath();
+        try (SessionResultWriter writer = new SessionResultWriter(path)) {
+            for (int i = 0; i < 1000; i++) {
+                writer.write(SessionResultWriterTest.result(i), i);
+            }
+        }
+        reader = SessionResultReader.open(path);
+    }
+
+    @Test
+    public void columns() {
+        IntBuffer durations = reader.getDurations(0);
+        IntBuffer maxima = reader.getMaxima(0);
+
+        assertEquals(1000, durations.remaining());
+        assertEquals(999, durations.get(999));
+        assertEquals(2 * 999, maxima.get(999));
+        assertEquals(-5, reader.getMinima(0).get(5));
+        assertEquals(6, reader.getFinalStakes(0).get(6));
+        assertEquals(42, reader.getSeeds(0).get(42));
+    }
+
+    @Test
+    public void statistics() {
+        SessionStatistics statistics = reader.getStatistics();
+
+        assertEquals(1000, statistics.getCount());
+        assertEquals(499.5, statistics.DURATIONS.getMean(), 1e-9);
+        assertEquals(999, statistics.MAXIMA.getMean(), 1e-9);
+        assertEquals(1000, statistics.DURATION_QUANTILES.getCount());
+        assertEquals(1000, statistics.FINAL_STAKE_QUANTILES.getCount());
+    }
+
+    @Test
+    public void statisticsWithHistograms() {
+        SessionStatistics statistics = reader.getStatistics(
+                new SessionStatistics(Histogram.linear(0, 1000, 10), null, null));
+
+        assertEquals(1000, statistics.DURATION_HISTOGRAM.getTotal());
+        assertEquals(100, statistics.DURATION_HISTOGRAM.getCount(3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void readPastEnd() {
+        reader.read(1000, new SessionResult());
+    }
+
+    @Test(expected = IOException.class)
+    public void notAResultFile() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[64]);
+        SessionResultReader.open(path);
+    }
+}
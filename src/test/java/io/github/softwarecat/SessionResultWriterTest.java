@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+public class SessionResultWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected static SessionResult result(int i) {
+        SessionResult result = new SessionResult();
+        result.duration = i;
+        result.maximum = 2 * i;
+        result.minimum = -i;
+        result.finalStake = i % 7;
+        return result;
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        Path path = folder.newFile().toPath();
+        int rows = SessionResultWriter.BLOCK_ROWS * 2 + 10;
+        try (SessionResultWriter writer = new SessionResultWriter(path)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(result(i), 1000L + i);
+            }
+            assertEquals(rows, writer.getRowCount());
+        }
+
+        // Two full blocks and a partial one
+        SessionResultReader reader = SessionResultReader.open(path);
+        assertEquals(rows, reader.getRowCount());
+        assertEquals(3, reader.getBlockCount());
+        assertEquals(10, reader.getBlockRows(2));
+
+        SessionResult result = new SessionResult();
+        for (int i = 0; i < rows; i++) {
+            assertEquals(result(i).toString(), reader.read(i, result).toString());
+            assertEquals(1000L + i, reader.getSeed(i));
+        }
+    }
+
+    @Test
+    public void compact() throws IOException {
+        Path path = folder.newFile().toPath();
+        try (SessionResultWriter writer = new SessionResultWriter(path)) {
+            for (int i = 0; i < 100; i++) {
+                writer.write(result(i), i);
+            }
+        }
+
+        // A header, a block header and 24 bytes per row
+        assertEquals(16 + 8 + 100 * 24, Files.size(path));
+    }
+
+    @Test
+    public void flush() throws IOException {
+        Path path = folder.newFile().toPath();
+        try (SessionResultWriter writer = new SessionResultWriter(path)) {
+            writer.write(result(1), 1);
+            writer.flush();
+            writer.flush();
+            writer.write(result(2), 2);
+        }
+
+        SessionResultReader reader = SessionResultReader.open(path);
+        assertEquals(2, reader.getBlockCount());
+        assertEquals(2, reader.read(1, new SessionResult()).duration);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import org.junit.Test;
+
+import java.io.*;
+
+import static org.junit.Assert.assertEquals;
+
+public class SessionStatisticsTest {
+
+    protected SessionResult result(int duration, int maximum, int finalStake) {
+        SessionResult result = new SessionResult();
+        result.duration = duration;
+        result.maximum = maximum;
+        result.minimum = 0;
+        result.finalStake = finalStake;
+        return result;
+    }
+
+    @Test
+    public void merge() {
+        SessionStatistics first = new SessionStatistics();
+        first.add(result(10, 120, 0));
+        first.add(result(20, 140, 110));
+
+        SessionStatistics second = new SessionStatistics();
+        second.add(result(30, 100, 50));
+
+        first.merge(second);
+
+        assertEquals(3, first.getCount());
+        assertEquals(20, first.DURATIONS.getMean(), 1e-12);
+        assertEquals(100, first.MAXIMA.getMin(), 0);
+        assertEquals(140, first.MAXIMA.getMax(), 0);
+        assertEquals(160 / 3.0, first.FINAL_STAKES.getMean(), 1e-12);
+
+        assertEquals(3, first.DURATION_QUANTILES.getCount());
+        assertEquals(20, first.DURATION_QUANTILES.getMedian(), 20 * 0.01);
+        assertEquals(120, first.MAXIMUM_QUANTILES.getMedian(), 120 * 0.01);
+        assertEquals(0, first.FINAL_STAKE_QUANTILES.getQuantile(0), 0);
+        assertEquals(first.MAXIMUM_QUANTILES, SessionMetric.MAXIMUM.quantiles(first));
+    }
+
+    @Test
+    public void reset() {
+        SessionStatistics statistics = new SessionStatistics();
+        statistics.add(result(10, 120, 0));
+        statistics.reset();
+
+        assertEquals(0, statistics.getCount());
+        assertEquals(0, statistics.DURATION_QUANTILES.getCount());
+        assertEquals(0, statistics.FINAL_STAKE_QUANTILES.getCount());
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        SessionStatistics statistics = new SessionStatistics(null, Histogram.logarithmic(1, 1000, 10), null);
+        statistics.add(result(10, 120, 0));
+        statistics.add(result(20, 140, 110));
+        statistics.add(result(30, -5, 50));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        statistics.write(new DataOutputStream(bytes));
+        SessionStatistics copy = statistics.emptyCopy();
+        copy.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(3, copy.getCount());
+        assertEquals(statistics.DURATIONS.getStd(), copy.DURATIONS.getStd(), 0);
+        assertEquals(statistics.MAXIMA.getMin(), copy.MAXIMA.getMin(), 0);
+        assertEquals(statistics.MAXIMUM_QUANTILES.getQuantile(0), copy.MAXIMUM_QUANTILES.getQuantile(0), 0);
+        assertEquals(statistics.FINAL_STAKE_QUANTILES.getMedian(), copy.FINAL_STAKE_QUANTILES.getMedian(), 0);
+        assertEquals(1, copy.MAXIMUM_HISTOGRAM.getUnderflow());
+
+        // A copy is still a working sketch
+        copy.add(result(40, 160, 10));
+        assertEquals(4, copy.DURATION_QUANTILES.getCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void readOtherHistograms() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new SessionStatistics().write(new DataOutputStream(bytes));
+        new SessionStatistics(Histogram.linear(0, 1, 1), null, null)
+                .read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
@@ -26,18 +26,28 @@ package io.github.softwarecat;
 
 import io.github.softwarecat.player.Passenger57;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 
 public class SimulatorTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     Wheel wheel;
 
     Table table;
@@ -93,6 +103,62 @@ public class SimulatorTest {
         }
     }
 
+    @Test
+    public void sessionResult() throws InvalidBetException {
+        List<Integer> sessionResult = simulator.session();
+
+        wheel = new Wheel(new Random(1));
+        new BinBuilder().buildBins(wheel);
+        table = new Table(wheel);
+        simulator = new Simulator(new Game(wheel, table), new Passenger57(table));
+
+        SessionResult summary = simulator.session(new SessionResult());
+
+        assertEquals(sessionResult.size(), summary.duration);
+        assertEquals(Collections.max(sessionResult).intValue(), summary.maximum);
+        assertEquals(Collections.min(sessionResult).intValue(), summary.minimum);
+        assertEquals(sessionResult.get(sessionResult.size() - 1).intValue(), summary.finalStake);
+    }
+
+    @Test
+    public void sessionWithSpins() throws InvalidBetException {
+        // The spins the Wheel would draw, given to the Simulator instead
+        int[] spins = new int[simulator.sessionDuration];
+        for (int i = 0; i < spins.length; i++) {
+            spins[i] = rng.nextInt(38);
+        }
+
+        SessionResult expected = simulator.session(new SessionResult());
+        SessionResult actual = simulator.session(new SessionResult(), spins);
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void writeResults() throws IOException, InvalidBetException {
+        Path path = folder.newFile().toPath();
+        simulator.samples = 20;
+        try (SessionResultWriter writer = new SessionResultWriter(path)) {
+            simulator.setResultWriter(writer);
+            simulator.gather();
+        }
+
+        SessionResultReader reader = SessionResultReader.open(path);
+        assertEquals(20, reader.getRowCount());
+        assertEquals(19, reader.getSeed(19));
+        assertEquals(simulator.meanMaximum, reader.getStatistics().MAXIMA.getMean(), 1e-9);
+    }
+
+    @Test
+    public void sessionResultWithoutPlaying() throws InvalidBetException {
+        simulator.initialStake = 0;
+        SessionResult summary = simulator.session(new SessionResult());
+
+        assertEquals(0, summary.duration);
+        assertEquals(0, summary.maximum);
+        assertEquals(0, summary.finalStake);
+    }
+
     @Test
     public void gather() {
         simulator = new Simulator(game, player) {
@@ -100,8 +166,12 @@ public class SimulatorTest {
             int sessionCount = 1;
 
             @Override
-            public List<Integer> session() {
-                return IntStream.range(0, sessionCount++).boxed().collect(Collectors.toList());
+            public SessionResult session(SessionResult result) {
+                result.duration = sessionCount;
+                result.maximum = sessionCount - 1;
+                result.finalStake = 0;
+                sessionCount++;
+                return result;
             }
         };
 
@@ -111,13 +181,41 @@ public class SimulatorTest {
             fail("Unit test for simulator.gather() is broken");
         }
 
-        assertEquals(IntStream.range(0, simulator.samples)
-                        .boxed()
-                        .collect(Collectors.toList()),
-                simulator.maxima);
-        assertEquals(IntStream.rangeClosed(1, simulator.samples)
+        SessionStatistics statistics = simulator.getStatistics();
+        assertEquals(simulator.samples, statistics.getCount());
+
+        // Maxima are 0 to samples - 1, durations are 1 to samples
+        assertEquals(0, statistics.MAXIMA.getMin(), 0);
+        assertEquals(simulator.samples - 1, statistics.MAXIMA.getMax(), 0);
+        assertEquals((simulator.samples - 1) / 2.0, simulator.meanMaximum, 1e-9);
+        assertEquals((simulator.samples + 1) / 2.0, simulator.meanDuration, 1e-9);
+        assertEquals(IntegerStatistics.std(IntStream.rangeClosed(1, simulator.samples)
                         .boxed()
-                        .collect(Collectors.toList()),
-                simulator.durations);
+                        .collect(Collectors.toList())),
+                simulator.stdDuration, 1e-9);
+    }
+
+    @Test
+    public void histograms() throws InvalidBetException, IOException {
+        simulator.setHistograms(Histogram.linear(0, simulator.sessionDuration + 1, 10),
+                Histogram.logarithmic(1, 1 << 20, 20), null);
+        simulator.gather();
+
+        SessionStatistics statistics = simulator.getStatistics();
+        assertEquals(simulator.samples, statistics.DURATION_HISTOGRAM.getTotal());
+        assertEquals(simulator.samples, statistics.MAXIMUM_HISTOGRAM.getTotal());
+        assertEquals(0, statistics.MAXIMUM_HISTOGRAM.getUnderflow());
+
+        Path directory = folder.newFolder().toPath();
+        simulator.writeHistograms(directory);
+        assertEquals(10 + 3, Files.readAllLines(directory.resolve("durations.csv")).size());
+        assertEquals(20 + 3, Files.readAllLines(directory.resolve("maxima.csv")).size());
+        assertFalse(Files.exists(directory.resolve("final-stakes.csv")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void histogramsAfterGather() throws InvalidBetException {
+        simulator.gather();
+        simulator.setHistograms(Histogram.linear(0, 1, 1), null, null);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.random.SplitMix64;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+public class SpinTapeTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected SpinTape tape(long count, long seed) throws IOException {
+        Path path = folder.newFile().toPath();
+        SpinTape.write(path, count, seed);
+        return SpinTape.open(path);
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        // An odd count leaves a partial group of four spins at the end
+        SpinTape tape = tape(100_003, 42);
+        SplitMix64 rng = new SplitMix64(42);
+
+        assertEquals(100_003, tape.size());
+        SpinTape.Cursor cursor = tape.cursor(0);
+        for (long i = 0; i < tape.size(); i++) {
+            int spin = rng.nextInt(38);
+            assertEquals(spin, cursor.next());
+            assertEquals(spin, tape.get(i));
+        }
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void packed() throws IOException {
+        Path path = folder.newFile().toPath();
+        SpinTape.write(path, 1000, 1);
+
+        // Four spins take three bytes, after the header
+        assertEquals(16 + 750, Files.size(path));
+    }
+
+    @Test
+    public void seek() throws IOException {
+        SpinTape tape = tape(1000, 7);
+
+        SpinTape.Cursor cursor = tape.cursor(3, 50);
+        assertEquals(150, cursor.position());
+        for (int i = 150; i < 200; i++) {
+            assertEquals(tape.get(i), cursor.next());
+        }
+
+        cursor.seek(5);
+        assertEquals(tape.get(5), cursor.next());
+        assertEquals(994, cursor.remaining());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void readPastEnd() throws IOException {
+        SpinTape.Cursor cursor = tape(2, 7).cursor(1);
+        cursor.next();
+        cursor.next();
+    }
+
+    @Test(expected = IOException.class)
+    public void notATape() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[32]);
+        SpinTape.open(path);
+    }
+
+    @Test
+    public void replay() throws IOException {
+        SpinTape tape = tape(500, 3);
+        Wheel wheel = new Wheel();
+        new BinBuilder().buildBins(wheel);
+
+        wheel.setSpinTape(tape.cursor(0));
+        for (int i = 0; i < 100; i++) {
+            assertSame(wheel.getBin(tape.get(i)), wheel.next());
+        }
+
+        int[] spins = wheel.fillSpins(new int[100]);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(tape.get(100 + i), spins[i]);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat;
+
+import io.github.softwarecat.player.PlayerType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StrategyComparisonTest {
+
+    protected StrategyComparison gather(long seed, PlayerType... playerTypes) {
+        StrategyComparison comparison = new StrategyComparison(seed, playerTypes);
+        comparison.samples = 500;
+        comparison.sessionDuration = 100;
+
+        try {
+            comparison.gather();
+        } catch (InvalidBetException e) {
+            fail("Player is broken, should not place invalid bet");
+        }
+        return comparison;
+    }
+
+    @Test
+    public void sameStrategy() {
+        StrategyComparison comparison = gather(1, PlayerType.MARTINGALE, PlayerType.MARTINGALE);
+
+        // Two copies of a strategy see the same spins, so they play exactly the same sessions
+        RunningStatistics difference = comparison.getMaximumDifference(PlayerType.MARTINGALE, PlayerType.MARTINGALE);
+        assertEquals(0, difference.getMean(), 0);
+        assertEquals(0, difference.getStd(), 0);
+        difference = comparison.getMaximumDifference(1, 0);
+        assertEquals(500, difference.getCount());
+        assertEquals(0, difference.getMean(), 0);
+        assertEquals(0, difference.getStd(), 0);
+
+        // Each copy keeps its own sessions
+        assertEquals(500, comparison.getStatistics(0).getCount());
+        assertEquals(500, comparison.getStatistics(1).getCount());
+        assertSame(comparison.getStatistics(0), comparison.getStatistics(PlayerType.MARTINGALE));
+        assertEquals(comparison.getStatistics(0).MAXIMA.getMean(), comparison.getStatistics(1).MAXIMA.getMean(), 0);
+    }
+
+    @Test
+    public void commonRandomNumbers() {
+        StrategyComparison comparison = gather(1, PlayerType.PASSENGER57, PlayerType.ONE_THREE_TWO_SIX);
+
+        // With independent spins, the variance of the difference would be the sum of the variances
+        double independent = comparison.getStatistics(PlayerType.PASSENGER57).MAXIMA.getVariance()
+                + comparison.getStatistics(PlayerType.ONE_THREE_TWO_SIX).MAXIMA.getVariance();
+        RunningStatistics paired = comparison.getMaximumDifference(PlayerType.ONE_THREE_TWO_SIX, PlayerType.PASSENGER57);
+
+        assertEquals(500, paired.getCount());
+        assertTrue(paired.getVariance() < independent / 2);
+    }
+
+    @Test
+    public void antisymmetric() {
+        StrategyComparison comparison = gather(1, PlayerType.FIBONACCI, PlayerType.CANCELLATION);
+
+        assertEquals(comparison.getDurationDifference(PlayerType.FIBONACCI, PlayerType.CANCELLATION).getMean(),
+                -comparison.getDurationDifference(PlayerType.CANCELLATION, PlayerType.FIBONACCI).getMean(), 1e-9);
+    }
+
+    @Test
+    public void reproducible() {
+        StrategyComparison first = gather(7, PlayerType.values());
+        StrategyComparison second = gather(7, PlayerType.values());
+
+        assertEquals(first.report(PlayerType.PASSENGER57), second.report(PlayerType.PASSENGER57));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void notCompared() {
+        gather(1, PlayerType.MARTINGALE).getDurationDifference(PlayerType.FIBONACCI, PlayerType.MARTINGALE);
+    }
+}
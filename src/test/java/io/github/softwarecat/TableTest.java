@@ -30,8 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
 
-import static org.junit.Assert.assertArrayEquals;
-import static org.junit.Assert.fail;
+import static org.junit.Assert.*;
 
 public class TableTest {
 
@@ -56,4 +55,50 @@ public class TableTest {
 
         assertArrayEquals(bets.toArray(), List.of(bet1, bet2).toArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void validateLimit() throws InvalidBetException {
+        Table table = new Table(new Wheel(), 10, 2);
+        table.placeBet(new Bet(4, new Outcome("Name 1", 1)));
+        table.placeBet(new Bet(6, new Outcome("Name 2", 1)));
+
+        try {
+            table.placeBet(new Bet(2, new Outcome("Name 3", 1)));
+            fail("The sum of the bets exceeds the table limit");
+        } catch (InvalidBetException e) {
+            // The rejected bet stays on the table until it is removed
+            assertEquals(3, table.size());
+        }
+
+        // Removing a bet through the iterator brings the sum back under the limit
+        ListIterator<Bet> it = table.iterator();
+        it.next();
+        it.remove();
+        table.validate();
+    }
+
+    @Test
+    public void validateMinimum() throws InvalidBetException {
+        Table table = new Table(new Wheel(), 10, 2);
+
+        try {
+            table.placeBet(new Bet(1, new Outcome("Name 1", 1)));
+            fail("The bet is below the table minimum");
+        } catch (InvalidBetException e) {
+            assertEquals(1, table.size());
+        }
+
+        table.clear();
+        table.validate();
+        table.placeBet(new Bet(2, new Outcome("Name 1", 1)));
+    }
+
+    @Test
+    public void placeManyBets() throws InvalidBetException {
+        Table table = new Table(new Wheel());
+        for (int i = 0; i < 100_000; i++) {
+            table.placeBet(new Bet(1, new Outcome("Name", 1)));
+        }
+        assertEquals(100_000, table.size());
+    }
+}
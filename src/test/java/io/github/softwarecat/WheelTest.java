@@ -24,12 +24,21 @@
 
 package io.github.softwarecat;
 
+import io.github.softwarecat.random.JdkRandomSource;
+import io.github.softwarecat.random.Xoshiro256PlusPlus;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Iterator;
 import java.util.Random;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class WheelTest {
 
@@ -59,6 +68,23 @@ public class WheelTest {
         assertEquals(wheel.next(), wheel.getBin(rng.nextInt(38)));
     }
 
+    @Test
+    public void sharedLayout() {
+        new BinBuilder().buildBins(wheel);
+        Wheel shared = new Wheel(wheel, new JdkRandomSource(new Random(2)));
+
+        for (int bin = 0; bin < 38; bin++) {
+            assertSame(wheel.getBin(bin), shared.getBin(bin));
+        }
+        assertSame(wheel.getOutcomeIndex(), shared.getOutcomeIndex());
+        assertEquals(wheel.getOutcomeCount(), shared.getOutcomeCount());
+        assertSame(wheel.getOutcomes(BetCategory.RED), shared.getOutcomes(BetCategory.RED));
+
+        // Each wheel spins with its own generator
+        Random rng = new Random(2);
+        assertSame(wheel.getBin(rng.nextInt(38)), shared.next());
+    }
+
     @Test
     public void getOutcomes() {
         BinBuilder builder = new BinBuilder();
@@ -66,4 +92,128 @@ public class WheelTest {
 
         assertEquals(wheel.getOutcomes("Line").size(), 11);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void outcomeIds() {
+        BinBuilder builder = new BinBuilder();
+        builder.buildBins(wheel);
+
+        // Every distinct Outcome has its own id, from zero to the number of Outcomes
+        boolean[] seen = new boolean[wheel.getOutcomeCount()];
+        for (Outcome outcome : wheel.getAllOutcomes().values()) {
+            assertFalse(seen[outcome.getId()]);
+            seen[outcome.getId()] = true;
+        }
+        assertEquals(wheel.getAllOutcomes().size(), wheel.getOutcomeCount());
+
+        // Equal Outcomes created separately share an id
+        Outcome red = wheel.getOutcomes("Red").get(0);
+        for (int i = 0; i < 38; i++) {
+            for (Outcome outcome : wheel.getBin(i)) {
+                if (outcome.equals(red)) {
+                    assertEquals(red.getId(), outcome.getId());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void addOutcomeAgain() {
+        Outcome outcome = new Outcome("1", 1);
+        wheel.addOutcome(1, outcome);
+        wheel.addOutcome(2, outcome);
+
+        assertEquals(0, outcome.getId());
+        assertEquals(1, wheel.getOutcomeCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addOutcomeFromAnotherWheel() {
+        Outcome outcome = new Outcome("1", 1);
+        wheel.addOutcome(1, outcome);
+
+        // The Outcome would get id 1 on the other wheel, which would break its Bins on this one
+        Wheel other = new Wheel();
+        other.addOutcome(0, new Outcome("0", 1));
+        other.addOutcome(1, outcome);
+    }
+
+    @Test
+    public void fillSpins() {
+        // A fast source draws the same spins however they are batched
+        Wheel wheel = new Wheel(new Xoshiro256PlusPlus(1));
+        int[] spins = new int[1000];
+        wheel.setSpinSeed(7);
+        wheel.fillSpins(spins);
+
+        for (int spin : spins) {
+            assertTrue(spin >= 0 && spin < 38);
+        }
+
+        // The same seed draws the same spins, whether into an array or a buffer
+        int[] again = new int[1000];
+        wheel.setSpinSeed(7);
+        wheel.fillSpins(again, 0, 500);
+        wheel.fillSpins(again, 500, 500);
+        assertArrayEquals(spins, again);
+
+        IntBuffer buffer = IntBuffer.allocate(1000);
+        wheel.setSpinSeed(7);
+        wheel.fillSpins(buffer);
+        assertEquals(1000, buffer.position());
+        assertArrayEquals(spins, buffer.array());
+
+        IntBuffer direct = ByteBuffer.allocateDirect(4000).asIntBuffer();
+        wheel.setSpinSeed(7);
+        wheel.fillSpins(direct);
+        int[] fromDirect = new int[1000];
+        direct.flip();
+        direct.get(fromDirect);
+        assertArrayEquals(spins, fromDirect);
+    }
+
+    @Test
+    public void fillSpinsFromRandomSource() {
+        // Bulk spins are drawn from the configured source, exactly like repeated calls to next()
+        Wheel xoshiro = new Wheel(new Xoshiro256PlusPlus(11));
+        int[] spins = xoshiro.fillSpins(new int[200]);
+
+        Xoshiro256PlusPlus expected = new Xoshiro256PlusPlus(11);
+        for (int spin : spins) {
+            assertEquals(expected.nextInt(38), spin);
+        }
+    }
+
+    @Test
+    public void fillSpinsFromRandom() {
+        // A java.util.Random draws the same spins from the same seed, in batches of the same sizes
+        int[] spins = new int[1000];
+        wheel.setSpinSeed(7);
+        wheel.fillSpins(spins, 0, 500);
+        wheel.fillSpins(spins, 500, 500);
+
+        int[] again = new int[1000];
+        wheel.setSpinSeed(7);
+        wheel.fillSpins(again, 0, 500);
+        wheel.fillSpins(again, 500, 500);
+        assertArrayEquals(spins, again);
+        for (int spin : spins) {
+            assertTrue(spin >= 0 && spin < 38);
+        }
+    }
+
+    @Test
+    public void spinIterator() {
+        Wheel wheel = new Wheel(new Xoshiro256PlusPlus(1));
+        int[] spins = new int[100];
+        wheel.setSpinSeed(3);
+        wheel.fillSpins(spins);
+
+        wheel.setSpinSeed(3);
+        Iterator<Bin> iterator = wheel.spinIterator(16);
+        for (int spin : spins) {
+            assertSame(wheel.getBin(spin), iterator.next());
+        }
+        assertTrue(iterator.hasNext());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.event;
+
+import io.github.softwarecat.*;
+import io.github.softwarecat.player.Passenger57;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SessionEventTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recordSessions() throws InvalidBetException, IOException {
+        Wheel wheel = new Wheel(new Random(1));
+        new BinBuilder().buildBins(wheel);
+        Table table = new Table(wheel);
+        Simulator simulator = new Simulator(new Game(wheel, table), new Passenger57(table));
+        simulator.samples = 20;
+
+        Path file = folder.getRoot().toPath().resolve("sessions.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.softwarecat.Session");
+            recording.start();
+            simulator.gather();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("io.github.softwarecat.Session"))
+                .collect(Collectors.toList());
+        assertEquals(20, events.size());
+        for (RecordedEvent event : events) {
+            assertEquals("Passenger57", event.getString("playerType"));
+            assertEquals(simulator.initialStake, event.getInt("initialStake"));
+            assertTrue(event.getInt("cycles") > 0 && event.getInt("cycles") <= simulator.sessionDuration);
+        }
+    }
+}
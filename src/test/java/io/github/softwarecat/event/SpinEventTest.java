@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.event;
+
+import io.github.softwarecat.*;
+import io.github.softwarecat.player.Passenger57;
+import io.github.softwarecat.player.Player;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SpinEventTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    Wheel wheel;
+
+    Table table;
+
+    Game game;
+
+    @Before
+    public void setUp() {
+        wheel = new Wheel(new Random(1));
+        new BinBuilder().buildBins(wheel);
+        table = new Table(wheel);
+        game = new Game(wheel, table);
+    }
+
+    @Test
+    public void recordSampledSpins() throws InvalidBetException, IOException {
+        Player player = new Passenger57(table);
+        player.stake = 1_000_000;
+        player.roundsToGo = 1000;
+        game.setSpinEventInterval(10);
+
+        List<RecordedEvent> events = record(() -> {
+            for (int i = 0; i < 1000; i++) {
+                game.cycle(player, wheel.getBin(i % 38));
+            }
+        });
+
+        assertEquals(100, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            RecordedEvent event = events.get(i);
+            // The tenth cycle of every ten is recorded
+            int bin = (i * 10 + 9) % 38;
+            assertEquals(bin, event.getInt("bin"));
+            assertEquals(1, event.getInt("players"));
+            assertEquals(1, event.getInt("bets"));
+            // Passenger57 bets on black
+            assertEquals(wheel.getBin(bin).contains(wheel.getOutcomes(BetCategory.BLACK).get(0)) ? 1 : 0, event.getInt("winningBets"));
+        }
+    }
+
+    @Test
+    public void recordSampledSpinsManyPlayers() throws InvalidBetException, IOException {
+        Player first = new Passenger57(table);
+        Player second = new Passenger57(table);
+        for (Player player : Arrays.asList(first, second)) {
+            player.stake = 1_000_000;
+            player.roundsToGo = 100;
+        }
+        game.setSpinEventInterval(5);
+
+        List<RecordedEvent> events = record(() -> {
+            for (int i = 0; i < 100; i++) {
+                game.cycle(Arrays.asList(first, second));
+            }
+        });
+
+        assertEquals(20, events.size());
+        for (RecordedEvent event : events) {
+            assertEquals(2, event.getInt("players"));
+            assertEquals(2, event.getInt("bets"));
+            assertTrue(event.getInt("bin") >= 0 && event.getInt("bin") < 38);
+        }
+    }
+
+    @Test
+    public void noSpinsByDefault() throws InvalidBetException, IOException {
+        Player player = new Passenger57(table);
+        player.stake = 1000;
+        player.roundsToGo = 100;
+
+        List<RecordedEvent> events = record(() -> {
+            for (int i = 0; i < 100; i++) {
+                game.cycle(player);
+            }
+        });
+
+        assertEquals(0, events.size());
+    }
+
+    protected List<RecordedEvent> record(Cycles cycles) throws InvalidBetException, IOException {
+        Path file = folder.newFile().toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("io.github.softwarecat.Spin");
+            recording.start();
+            cycles.run();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("io.github.softwarecat.Spin"))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+
+    protected interface Cycles {
+        void run() throws InvalidBetException;
+    }
+}
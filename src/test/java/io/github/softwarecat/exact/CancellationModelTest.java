@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CancellationModelTest {
+
+    CancellationModel model;
+
+    @Before
+    public void setUp() {
+        model = new CancellationModel();
+    }
+
+    @Test
+    public void lose() {
+        int state = model.nextLost(model.initialState());
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7}, model.getSequence(state));
+        assertEquals(8, model.betAmount(state));
+    }
+
+    @Test
+    public void win() {
+        int state = model.nextWon(model.initialState());
+
+        assertArrayEquals(new int[]{2, 3, 4, 5}, model.getSequence(state));
+        assertEquals(7, model.betAmount(state));
+    }
+
+    @Test
+    public void startOver() {
+        int state = model.initialState();
+        for (int i = 0; i < 3; i++) {
+            state = model.nextWon(state);
+        }
+
+        // The sequence is cancelled completely after three wins, and starts over
+        assertEquals(model.initialState(), state);
+    }
+
+    @Test
+    public void interned() {
+        int lost = model.nextLost(model.initialState());
+        int again = model.nextLost(model.nextWon(model.nextLost(lost)));
+
+        assertEquals(model.nextLost(model.nextWon(model.nextLost(lost))), again);
+        assertEquals(again, model.intern(model.getSequence(again)));
+    }
+}
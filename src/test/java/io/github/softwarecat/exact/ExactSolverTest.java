@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.exact;
+
+import io.github.softwarecat.InvalidBetException;
+import io.github.softwarecat.ParallelSimulator;
+import io.github.softwarecat.player.PlayerType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ExactSolverTest {
+
+    @Test
+    public void singleCycle() {
+        ExactSolver solver = new ExactSolver(PlayerType.PASSENGER57);
+        solver.sessionDuration = 1;
+        solver.solve();
+
+        double[] maxima = solver.getMaximumDistribution();
+        assertEquals(1, solver.getDurationDistribution()[1], 1e-12);
+        assertEquals(18.0 / 38.0, maxima[101], 1e-12);
+        assertEquals(20.0 / 38.0, maxima[99], 1e-12);
+        assertEquals(1, solver.meanDuration, 1e-12);
+        assertEquals(0, solver.stdDuration, 1e-12);
+        assertEquals(99 + 2 * 18.0 / 38.0, solver.meanMaximum, 1e-12);
+    }
+
+    @Test
+    public void noCycle() {
+        ExactSolver solver = new ExactSolver(PlayerType.MARTINGALE);
+        solver.initialStake = 0;
+        solver.solve();
+
+        // A Player who cannot bet does not play, and their maximum is their initial stake
+        assertEquals(1, solver.getDurationDistribution()[0], 1e-12);
+        assertEquals(1, solver.getMaximumDistribution()[0], 1e-12);
+        assertEquals(0, solver.meanMaximum, 1e-12);
+    }
+
+    @Test
+    public void distributionsSumToOne() {
+        for (PlayerType playerType : solvable()) {
+            ExactSolver solver = new ExactSolver(playerType);
+            solver.sessionDuration = 30;
+            solver.solve();
+
+            assertEquals(1, sum(solver.getDurationDistribution()), 1e-9);
+            assertEquals(1, sum(solver.getMaximumDistribution()), 1e-9);
+            assertEquals(1, sum(solver.getFinalStakeDistribution()), 1e-9);
+        }
+    }
+
+    @Test
+    public void agreesWithSimulator() throws InvalidBetException {
+        for (PlayerType playerType : solvable()) {
+            ExactSolver solver = new ExactSolver(playerType);
+            solver.sessionDuration = 30;
+            solver.solve();
+
+            ParallelSimulator simulator = new ParallelSimulator(playerType, 42);
+            simulator.sessionDuration = 30;
+            simulator.samples = 20000;
+            simulator.gather();
+
+            // The sampled means should lie within a few standard errors of the exact means
+            double durationError = solver.stdDuration / Math.sqrt(simulator.samples);
+            double maximumError = solver.stdMaximum / Math.sqrt(simulator.samples);
+            assertEquals(solver.meanDuration, simulator.meanDuration, 5 * durationError + 1e-9);
+            assertEquals(solver.meanMaximum, simulator.meanMaximum, 5 * maximumError + 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void tooManyCombinations() {
+        ExactSolver solver = new ExactSolver(PlayerType.CANCELLATION);
+        solver.maxCombinations = 1000;
+        solver.solve();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void randomStrategy() {
+        new ExactSolver(PlayerType.RANDOM_CHOICE);
+    }
+
+    protected PlayerType[] solvable() {
+        return new PlayerType[]{PlayerType.CANCELLATION, PlayerType.FIBONACCI, PlayerType.MARTINGALE,
+                PlayerType.ONE_THREE_TWO_SIX, PlayerType.PASSENGER57};
+    }
+
+    protected double sum(double[] distribution) {
+        double sum = 0;
+        for (double probability : distribution) {
+            sum += probability;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.player;
+
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IntDequeTest {
+
+    @Test
+    public void addAndPoll() {
+        IntDeque deque = new IntDeque(2);
+        for (int i = 1; i <= 5; i++) {
+            deque.addLast(i);
+        }
+
+        assertEquals(5, deque.size());
+        assertEquals(1, deque.pollFirst());
+        assertEquals(5, deque.pollLast());
+
+        // Wrap around the end of the array, then grow
+        deque.addLast(6);
+        deque.addLast(7);
+        deque.addLast(8);
+
+        assertEquals("[2, 3, 4, 6, 7, 8]", deque.toString());
+        assertEquals(2, deque.peekFirst());
+        assertEquals(8, deque.peekLast());
+    }
+
+    @Test
+    public void clear() {
+        IntDeque deque = new IntDeque();
+        deque.addLast(1);
+        deque.clear();
+
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void pollEmpty() {
+        new IntDeque().pollFirst();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JdkRandomSourceTest {
+
+    @Test
+    public void sameAsRandom() {
+        Random expected = new Random(1);
+        JdkRandomSource rng = new JdkRandomSource(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.nextInt(38), rng.nextInt(38));
+            assertEquals(expected.nextLong(), rng.nextLong());
+            assertEquals(expected.nextInt(), rng.nextInt());
+        }
+    }
+
+    @Test
+    public void setSeed() {
+        JdkRandomSource rng = new JdkRandomSource(1);
+        rng.nextLong();
+
+        rng.setSeed(1);
+
+        assertEquals(new Random(1).nextLong(), rng.nextLong());
+    }
+
+    @Test
+    public void nextInts() {
+        // A bulk draw takes a single value from the Random, and is reproducible from its seed
+        JdkRandomSource rng = new JdkRandomSource(1);
+        int[] values = new int[1000];
+        rng.nextInts(38, values, 0, 1000);
+        for (int value : values) {
+            assertTrue(value >= 0 && value < 38);
+        }
+
+        Random expected = new Random(1);
+        expected.nextLong();
+        assertEquals(expected.nextLong(), rng.nextLong());
+
+        int[] again = new int[1000];
+        rng.setSeed(1);
+        rng.nextInts(38, again, 0, 1000);
+        assertArrayEquals(values, again);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SplitMix64Test {
+
+    @Test
+    public void nextLong() {
+        // Reference values of SplitMix64 seeded with zero
+        SplitMix64 rng = new SplitMix64(0);
+
+        assertEquals(0xE220A8397B1DCDAFL, rng.nextLong());
+        assertEquals(0x6E789E6AA1B965F4L, rng.nextLong());
+        assertEquals(0x06C45D188009454FL, rng.nextLong());
+    }
+
+    @Test
+    public void setSeed() {
+        SplitMix64 rng = new SplitMix64(42);
+        long first = rng.nextLong();
+        rng.nextLong();
+
+        rng.setSeed(42);
+
+        assertEquals(first, rng.nextLong());
+    }
+
+    @Test
+    public void nextIntBound() {
+        SplitMix64 rng = new SplitMix64(1);
+        int[] counts = new int[38];
+
+        for (int i = 0; i < 380000; i++) {
+            int value = rng.nextInt(38);
+            assertTrue(value >= 0 && value < 38);
+            counts[value]++;
+        }
+
+        // Every bin should be hit about 10000 times
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10000) < 500);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextIntBadBound() {
+        new SplitMix64(1).nextInt(0);
+    }
+
+    @Test
+    public void split() {
+        SplitMix64 rng = new SplitMix64(1);
+        SplitMix64 other = rng.split();
+
+        assertNotEquals(rng.nextLong(), other.nextLong());
+    }
+
+    @Test
+    public void nextInts() {
+        // The bulk draw gives the values of repeated calls, also with a bound which rejects a quarter of the draws
+        for (int bound : new int[]{38, 3 << 29}) {
+            SplitMix64 expected = new SplitMix64(3);
+            SplitMix64 rng = new SplitMix64(3);
+            int[] values = new int[1000];
+            rng.nextInts(bound, values, 1, 998);
+            assertEquals(0, values[0]);
+            for (int i = 1; i < 999; i++) {
+                assertEquals(expected.nextInt(bound), values[i]);
+            }
+            assertEquals(0, values[999]);
+            assertEquals(expected.nextLong(), rng.nextLong());
+        }
+    }
+}
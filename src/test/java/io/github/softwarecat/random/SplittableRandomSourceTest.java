@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class SplittableRandomSourceTest {
+
+    @Test
+    public void sameAsSplittableRandom() {
+        SplittableRandom expected = new SplittableRandom(1);
+        SplittableRandomSource rng = new SplittableRandomSource(1);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.nextInt(38), rng.nextInt(38));
+            assertEquals(expected.nextLong(), rng.nextLong());
+        }
+    }
+
+    @Test
+    public void setSeed() {
+        SplittableRandomSource rng = new SplittableRandomSource(1);
+        long first = rng.nextLong();
+
+        rng.setSeed(1);
+
+        assertEquals(first, rng.nextLong());
+    }
+
+    @Test
+    public void split() {
+        SplittableRandomSource rng = new SplittableRandomSource(1);
+        RandomSource other = rng.split();
+
+        assertNotEquals(rng.nextLong(), other.nextLong());
+    }
+
+    @Test
+    public void nextInts() {
+        // The bulk draw gives the values of repeated calls, also with a bound which rejects a quarter of the draws
+        for (int bound : new int[]{38, 3 << 29}) {
+            SplittableRandomSource expected = new SplittableRandomSource(3);
+            SplittableRandomSource rng = new SplittableRandomSource(3);
+            int[] values = new int[1000];
+            rng.nextInts(bound, values, 1, 998);
+            assertEquals(0, values[0]);
+            for (int i = 1; i < 999; i++) {
+                assertEquals(expected.nextInt(bound), values[i]);
+            }
+            assertEquals(0, values[999]);
+            assertEquals(expected.nextLong(), rng.nextLong());
+        }
+    }
+}
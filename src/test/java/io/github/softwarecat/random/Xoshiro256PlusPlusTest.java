@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright © 2021 Bowen Wu. All rights reserved.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package io.github.softwarecat.random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class Xoshiro256PlusPlusTest {
+
+    @Test
+    public void nextLong() {
+        // Reference values of xoshiro256++ with the state {1, 2, 3, 4}
+        Xoshiro256PlusPlus rng = new Xoshiro256PlusPlus(1, 2, 3, 4);
+
+        assertEquals(0x2800001L, rng.nextLong());
+        assertEquals(0x3800067L, rng.nextLong());
+        assertEquals(0xCC00003800067L, rng.nextLong());
+        assertEquals(0xCC201994400B2L, rng.nextLong());
+    }
+
+    @Test
+    public void jump() {
+        Xoshiro256PlusPlus rng = new Xoshiro256PlusPlus(1, 2, 3, 4);
+        rng.jump();
+
+        assertEquals(0xEC879073673DF437L, rng.nextLong());
+        assertEquals(0x20D212A39ACA1EAAL, rng.nextLong());
+    }
+
+    @Test
+    public void split() {
+        Xoshiro256PlusPlus rng = new Xoshiro256PlusPlus(1, 2, 3, 4);
+        Xoshiro256PlusPlus first = rng.split();
+
+        // The split generator continues the stream, while the original jumps ahead
+        assertEquals(0x2800001L, first.nextLong());
+        assertEquals(0xEC879073673DF437L, rng.nextLong());
+    }
+
+    @Test
+    public void setSeed() {
+        Xoshiro256PlusPlus rng = new Xoshiro256PlusPlus(42);
+        long first = rng.nextLong();
+
+        rng.setSeed(42);
+
+        assertEquals(first, rng.nextLong());
+    }
+
+    @Test
+    public void nextIntBound() {
+        Xoshiro256PlusPlus rng = new Xoshiro256PlusPlus(1);
+
+        for (int i = 0; i < 10000; i++) {
+            int value = rng.nextInt(38);
+            assertTrue(value >= 0 && value < 38);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroState() {
+        new Xoshiro256PlusPlus(0, 0, 0, 0);
+    }
+
+    @Test
+    public void nextInts() {
+        // The bulk draw gives the values of repeated calls, also with a bound which rejects a quarter of the draws
+        for (int bound : new int[]{38, 3 << 29}) {
+            Xoshiro256PlusPlus expected = new Xoshiro256PlusPlus(3);
+            Xoshiro256PlusPlus rng = new Xoshiro256PlusPlus(3);
+            int[] values = new int[1000];
+            rng.nextInts(bound, values, 1, 998);
+            assertEquals(0, values[0]);
+            for (int i = 1; i < 999; i++) {
+                assertEquals(expected.nextInt(bound), values[i]);
+            }
+            assertEquals(0, values[999]);
+            assertEquals(expected.nextLong(), rng.nextLong());
+        }
+    }
+}